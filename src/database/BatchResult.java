@@ -0,0 +1,46 @@
+package database;
+
+import model.Contact;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BatchResult reports the outcome of a bulk insert
+ * Rows rejected by the database (e.g. UNIQUE phone constraint) are listed
+ * instead of aborting the whole batch
+ */
+public class BatchResult {
+    
+    private final List<Contact> inserted;
+    private final List<Contact> rejected;
+    
+    public BatchResult() {
+        this(new ArrayList<>(), new ArrayList<>());
+    }
+    
+    public BatchResult(List<Contact> inserted, List<Contact> rejected) {
+        this.inserted = inserted;
+        this.rejected = rejected;
+    }
+    
+    public List<Contact> getInserted() {
+        return inserted;
+    }
+    
+    public List<Contact> getRejected() {
+        return rejected;
+    }
+    
+    public int getInsertedCount() {
+        return inserted.size();
+    }
+    
+    public int getRejectedCount() {
+        return rejected.size();
+    }
+    
+    @Override
+    public String toString() {
+        return "Inserted: " + inserted.size() + ", Rejected: " + rejected.size();
+    }
+}
@@ -0,0 +1,36 @@
+package database;
+
+/**
+ * ContactFilter narrows a streamed read of the contacts table
+ * Every condition is pushed down into the SQL WHERE clause; null means "no condition"
+ */
+public class ContactFilter {
+    
+    public static final ContactFilter ALL = new ContactFilter(null, null, null);
+    
+    private final String category;
+    private final String nameFrom;   // inclusive, case-insensitive
+    private final String nameTo;     // exclusive, case-insensitive
+    
+    public ContactFilter(String category, String nameFrom, String nameTo) {
+        this.category = blankToNull(category);
+        this.nameFrom = blankToNull(nameFrom);
+        this.nameTo = blankToNull(nameTo);
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public String getNameFrom() {
+        return nameFrom;
+    }
+    
+    public String getNameTo() {
+        return nameTo;
+    }
+    
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+}
@@ -0,0 +1,31 @@
+package database;
+
+import model.Contact;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing
+ * nextKey is null on the last page
+ */
+public class ContactPage {
+    
+    private final List<Contact> contacts;
+    private final PageKey nextKey;
+    
+    public ContactPage(List<Contact> contacts, PageKey nextKey) {
+        this.contacts = contacts;
+        this.nextKey = nextKey;
+    }
+    
+    public List<Contact> getContacts() {
+        return contacts;
+    }
+    
+    public PageKey getNextKey() {
+        return nextKey;
+    }
+    
+    public boolean hasMore() {
+        return nextKey != null;
+    }
+}
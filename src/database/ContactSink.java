@@ -0,0 +1,11 @@
+package database;
+
+import model.Contact;
+import java.io.IOException;
+
+/**
+ * Receives contacts one at a time from a streamed database read
+ */
+public interface ContactSink {
+    void accept(Contact contact) throws IOException;
+}
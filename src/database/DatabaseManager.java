@@ -1,34 +1,153 @@
 package database;
 
 import model.Contact;
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 /**
  * DatabaseManager handles all database operations
  * Uses SQLite for persistent storage
  * Database is ONLY used for persistence - all DSA logic remains in PhonebookManager
+ * Public methods are synchronized: a write-behind writer thread may share the connection
+ * Connection settings come from a StorageProfile; hot statements are prepared once per connection
  */
 public class DatabaseManager {
     
-    private static final String DB_URL = "jdbc:sqlite:phonebook.db";
+    public static final String DEFAULT_DB_PATH = "phonebook.db";
+    
+    // SQLITE_OPEN_READONLY flag for the driver's open_mode property
+    private static final String OPEN_READ_ONLY = "1";
+    
+    private static final String LOAD_SQL = "SELECT name, phone, email, category FROM contacts";
+    private static final String INSERT_SQL = "INSERT INTO contacts(name, phone, email, category) VALUES(?, ?, ?, ?)";
+    private static final String INSERT_OR_IGNORE_SQL = "INSERT OR IGNORE INTO contacts(name, phone, email, category) VALUES(?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE contacts SET name = ?, phone = ?, email = ?, category = ? WHERE phone = ?";
+    private static final String DELETE_SQL = "DELETE FROM contacts WHERE phone = ?";
+    private static final String FIND_BY_PHONE_SQL = "SELECT name, phone, email, category FROM contacts WHERE phone = ?";
+    private static final String FIND_BY_NAME_SQL =
+            "SELECT name, phone, email, category FROM contacts WHERE name = ? COLLATE NOCASE ORDER BY id";
+    private static final String NAME_PREFIX_SQL = "SELECT name, phone, email, category FROM contacts"
+            + " WHERE name >= ? COLLATE NOCASE AND name < ? COLLATE NOCASE ORDER BY name COLLATE NOCASE, phone LIMIT ?";
+    private static final String PHONE_PREFIX_SQL = "SELECT name, phone, email, category FROM contacts"
+            + " WHERE phone >= ? AND phone < ? ORDER BY phone LIMIT ?";
+    private static final String PHONE_SUFFIX_SQL = "SELECT name, phone, email, category FROM contacts"
+            + " WHERE phone LIKE ? ESCAPE '\\' ORDER BY id LIMIT ?";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM contacts";
+    private static final String CONTENT_VERSION_SQL = "SELECT store_id || ':' || changes FROM contacts_version";
+    // bm25 weights: a hit in the name counts 10x a hit in the email
+    private static final String FULL_TEXT_SQL = "SELECT c.name, c.phone, c.email, c.category"
+            + " FROM contacts_fts JOIN contacts c ON c.id = contacts_fts.rowid"
+            + " WHERE contacts_fts MATCH ? ORDER BY bm25(contacts_fts, 10.0, 1.0), c.id LIMIT ?";
+    
+    // Anything that is not a letter or digit separates search terms
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    // Upper bound for prefix ranges: sorts after any character that can follow the prefix
+    private static final String PREFIX_END = "\uDBFF\uDFFF";
+    
+    /**
+     * Schema migrations, applied in order and recorded in PRAGMA user_version
+     * Entry i upgrades the schema from version i to i + 1; never edit an entry once released
+     */
+    private static final String[][] MIGRATIONS = {
+        // 1: indexes for SQL-side name (case-insensitive), prefix and category queries
+        {
+            "CREATE INDEX IF NOT EXISTS idx_contacts_name ON contacts(name COLLATE NOCASE, phone)",
+            "CREATE INDEX IF NOT EXISTS idx_contacts_category ON contacts(category)"
+        },
+        // 2: FTS5 full-text index over name and email, kept in sync by triggers
+        {
+            "CREATE VIRTUAL TABLE IF NOT EXISTS contacts_fts USING fts5(name, email,"
+                + " content='contacts', content_rowid='id', tokenize='unicode61 remove_diacritics 2')",
+            "CREATE TRIGGER IF NOT EXISTS contacts_fts_insert AFTER INSERT ON contacts BEGIN"
+                + " INSERT INTO contacts_fts(rowid, name, email) VALUES (new.id, new.name, new.email); END",
+            "CREATE TRIGGER IF NOT EXISTS contacts_fts_delete AFTER DELETE ON contacts BEGIN"
+                + " INSERT INTO contacts_fts(contacts_fts, rowid, name, email) VALUES ('delete', old.id, old.name, old.email); END",
+            "CREATE TRIGGER IF NOT EXISTS contacts_fts_update AFTER UPDATE ON contacts BEGIN"
+                + " INSERT INTO contacts_fts(contacts_fts, rowid, name, email) VALUES ('delete', old.id, old.name, old.email);"
+                + " INSERT INTO contacts_fts(rowid, name, email) VALUES (new.id, new.name, new.email); END",
+            // Index the rows that existed before this migration
+            "INSERT INTO contacts_fts(contacts_fts) VALUES ('rebuild')"
+        },
+        // 3: alphabetical and phone-ordered pages within a category straight from an index
+        {
+            "CREATE INDEX IF NOT EXISTS idx_contacts_category_name ON contacts(category, name COLLATE NOCASE, phone)",
+            "CREATE INDEX IF NOT EXISTS idx_contacts_category_phone ON contacts(category, phone)"
+        },
+        // 4: persistent change counter (PRAGMA data_version only counts changes seen by one connection)
+        {
+            "CREATE TABLE IF NOT EXISTS contacts_version ("
+                + "id INTEGER PRIMARY KEY CHECK (id = 1), store_id TEXT NOT NULL, changes INTEGER NOT NULL)",
+            "INSERT OR IGNORE INTO contacts_version(id, store_id, changes) VALUES (1, lower(hex(randomblob(16))), 0)",
+            "CREATE TRIGGER IF NOT EXISTS contacts_version_insert AFTER INSERT ON contacts BEGIN"
+                + " UPDATE contacts_version SET changes = changes + 1; END",
+            "CREATE TRIGGER IF NOT EXISTS contacts_version_update AFTER UPDATE ON contacts BEGIN"
+                + " UPDATE contacts_version SET changes = changes + 1; END",
+            "CREATE TRIGGER IF NOT EXISTS contacts_version_delete AFTER DELETE ON contacts BEGIN"
+                + " UPDATE contacts_version SET changes = changes + 1; END"
+        }
+    };
+    
+    private final String dbPath;
+    private final StorageProfile profile;
+    private final boolean readOnly;
     private Connection connection;
     
+    // Statement cache: SQL text -> statement prepared on this connection (closed with it)
+    private final HashMap<String, PreparedStatement> statementCache = new HashMap<>();
+    
+    // Rows per transaction for bulk inserts
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    
+    // Rows fetched per round trip when streaming with a cursor
+    private static final int STREAM_FETCH_SIZE = 1000;
+    
     /**
      * Constructor - Initialize database connection and create table
      */
     public DatabaseManager() {
+        this(DEFAULT_DB_PATH, StorageProfile.BALANCED);
+    }
+    
+    /**
+     * Open (or create) the database file at dbPath with the given storage profile
+     */
+    public DatabaseManager(String dbPath, StorageProfile profile) {
+        this(dbPath, profile, false);
+    }
+    
+    private DatabaseManager(String dbPath, StorageProfile profile, boolean readOnly) {
+        this.dbPath = dbPath;
+        this.profile = profile;
+        this.readOnly = readOnly;
+        
         try {
             // Load SQLite JDBC driver
             Class.forName("org.sqlite.JDBC");
             
             // Establish connection
-            connection = DriverManager.getConnection(DB_URL);
-            System.out.println("✅ Database connection established!");
+            Properties properties = new Properties();
+            if (readOnly) {
+                properties.setProperty("open_mode", OPEN_READ_ONLY);
+            }
+            connection = DriverManager.getConnection("jdbc:sqlite:" + dbPath, properties);
+            applyProfile();
             
-            // Create table if not exists
+            if (readOnly) {
+                System.out.println("✅ Read-only database connection established!");
+                return;
+            }
+            System.out.println("✅ Database connection established! Profile: " + profile);
+            
+            // Create table if not exists, then bring the schema up to date
             createTable();
+            migrate();
             
         } catch (ClassNotFoundException e) {
             System.err.println("❌ SQLite JDBC driver not found!");
@@ -39,6 +158,53 @@ public class DatabaseManager {
         }
     }
     
+    /**
+     * Open a read-only connection to an existing database file
+     * Under WAL, readers on their own connection never wait for the writer
+     */
+    public static DatabaseManager openReadOnly(String dbPath, StorageProfile profile) {
+        return new DatabaseManager(dbPath, profile, true);
+    }
+    
+    /**
+     * A read-only connection to the same database with the same profile
+     */
+    public DatabaseManager openReader() {
+        return openReadOnly(dbPath, profile);
+    }
+    
+    private void applyProfile() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String pragma : profile.pragmas(readOnly)) {
+                stmt.execute(pragma);
+            }
+        }
+    }
+    
+    /**
+     * Cached prepared statement for this connection - prepared on first use only
+     */
+    private PreparedStatement prepared(String sql) throws SQLException {
+        PreparedStatement pstmt = statementCache.get(sql);
+        if (pstmt == null) {
+            pstmt = connection.prepareStatement(sql);
+            statementCache.put(sql, pstmt);
+        }
+        return pstmt;
+    }
+    
+    public String getDbPath() {
+        return dbPath;
+    }
+    
+    public StorageProfile getProfile() {
+        return profile;
+    }
+    
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+    
     /**
      * Create contacts table
      */
@@ -60,16 +226,48 @@ public class DatabaseManager {
         }
     }
     
+    /**
+     * Apply every migration newer than the stored schema version - safe to run on every start
+     * Each step runs in its own transaction together with its version bump
+     */
+    private void migrate() {
+        try (Statement stmt = connection.createStatement()) {
+            int version;
+            try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+                version = rs.next() ? rs.getInt(1) : 0;
+            }
+            
+            while (version < MIGRATIONS.length) {
+                connection.setAutoCommit(false);
+                try {
+                    for (String sql : MIGRATIONS[version]) {
+                        stmt.execute(sql);
+                    }
+                    version++;
+                    stmt.execute("PRAGMA user_version = " + version);
+                    connection.commit();
+                    System.out.println("✅ Database schema migrated to version " + version);
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error migrating database schema!");
+            e.printStackTrace();
+        }
+    }
+    
     /**
      * Load all contacts from database
      * Called on application startup to populate DSA structures
      */
-    public List<Contact> loadAllContacts() {
+    public synchronized List<Contact> loadAllContacts() {
         List<Contact> contacts = new ArrayList<>();
-        String sql = "SELECT name, phone, email, category FROM contacts";
         
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (ResultSet rs = prepared(LOAD_SQL).executeQuery()) {
             
             while (rs.next()) {
                 String name = rs.getString("name");
@@ -91,18 +289,332 @@ public class DatabaseManager {
         return contacts;
     }
     
+    /**
+     * Load all contacts in chunks of chunkSize rows
+     * Each chunk is handed over as soon as it is read, so the caller can process one chunk
+     * while the next is still coming off the cursor. Returns the number of contacts loaded
+     */
+    public synchronized int loadAllContacts(int chunkSize, Consumer<List<Contact>> chunkConsumer) {
+        int loaded = 0;
+        List<Contact> chunk = new ArrayList<>(chunkSize);
+        
+        try {
+            PreparedStatement pstmt = prepared(LOAD_SQL);
+            pstmt.setFetchSize(STREAM_FETCH_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    chunk.add(new Contact(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+                    if (chunk.size() == chunkSize) {
+                        loaded += chunk.size();
+                        chunkConsumer.accept(chunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                loaded += chunk.size();
+                chunkConsumer.accept(chunk);
+            }
+            
+            System.out.println("✅ Loaded " + loaded + " contacts from database");
+            
+        } catch (SQLException e) {
+            System.err.println("❌ Error loading contacts!");
+            e.printStackTrace();
+        }
+        
+        return loaded;
+    }
+    
+    /**
+     * Point lookup on the UNIQUE phone index; null if not stored
+     */
+    public synchronized Contact findByPhone(String phone) {
+        try {
+            PreparedStatement pstmt = prepared(FIND_BY_PHONE_SQL);
+            pstmt.setString(1, phone);
+            List<Contact> found = readContacts(pstmt);
+            return found.isEmpty() ? null : found.get(0);
+        } catch (SQLException e) {
+            System.err.println("❌ Error searching database by phone!");
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    /**
+     * Every contact with this name, case-insensitive (NOCASE folds ASCII letters only)
+     */
+    public synchronized List<Contact> findByName(String name) {
+        try {
+            PreparedStatement pstmt = prepared(FIND_BY_NAME_SQL);
+            pstmt.setString(1, name.trim());
+            return readContacts(pstmt);
+        } catch (SQLException e) {
+            System.err.println("❌ Error searching database by name!");
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Up to limit contacts whose name starts with the prefix (case-insensitive), in name order
+     * Runs as a range scan on the name index
+     */
+    public synchronized List<Contact> findByNamePrefix(String prefix, int limit) {
+        return findInRange(NAME_PREFIX_SQL, prefix, limit);
+    }
+    
+    /**
+     * Up to limit contacts whose phone number starts with the prefix, in phone order
+     * Runs as a range scan on the UNIQUE phone index
+     */
+    public synchronized List<Contact> findByPhonePrefix(String prefix, int limit) {
+        return findInRange(PHONE_PREFIX_SQL, prefix, limit);
+    }
+    
+    private List<Contact> findInRange(String sql, String prefix, int limit) {
+        try {
+            PreparedStatement pstmt = prepared(sql);
+            pstmt.setString(1, prefix);
+            pstmt.setString(2, prefix + PREFIX_END);
+            pstmt.setInt(3, limit);
+            return readContacts(pstmt);
+        } catch (SQLException e) {
+            System.err.println("❌ Error running prefix search on database!");
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Up to limit contacts whose stored phone number ends with the given text
+     * No index can serve a suffix match, so this is a table scan - cut short once limit rows match
+     */
+    public synchronized List<Contact> findByPhoneSuffix(String suffix, int limit) {
+        String escaped = suffix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        try {
+            PreparedStatement pstmt = prepared(PHONE_SUFFIX_SQL);
+            pstmt.setString(1, "%" + escaped);
+            pstmt.setInt(2, limit);
+            return readContacts(pstmt);
+        } catch (SQLException e) {
+            System.err.println("❌ Error running suffix search on database!");
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Contacts matching the filter, collected in the given order
+     */
+    public synchronized List<Contact> findContacts(ContactFilter filter, ResultOrder order) {
+        List<Contact> found = new ArrayList<>();
+        try {
+            streamContacts(filter, order, found::add);
+        } catch (IOException e) {
+            System.err.println("❌ Error reading contacts from database!");
+            e.printStackTrace();
+        }
+        return found;
+    }
+    
+    /**
+     * Ranked full-text search over name and email (FTS5, best matches first)
+     * Every word of the query must match the start of some word in the name or email,
+     * so "asad tims" finds "Asad Timsal" as well as asad@timsoft.com
+     */
+    public synchronized List<Contact> fullTextSearch(String query, int limit) {
+        String match = toMatchExpression(query);
+        if (match.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        try {
+            PreparedStatement pstmt = prepared(FULL_TEXT_SQL);
+            pstmt.setString(1, match);
+            pstmt.setInt(2, limit);
+            return readContacts(pstmt);
+        } catch (SQLException e) {
+            System.err.println("❌ Error running full-text search!");
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Turn free text into an FTS5 query: each term becomes a quoted prefix query ("term"*),
+     * and terms are implicitly AND-ed. Quoting keeps FTS5 operators in user input literal
+     */
+    private static String toMatchExpression(String query) {
+        StringBuilder match = new StringBuilder();
+        if (query == null) {
+            return "";
+        }
+        for (String term : TERM_SEPARATOR.split(query.trim())) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            match.append('"').append(term).append("\"*");
+        }
+        return match.toString();
+    }
+    
+    /**
+     * Version stamp of the table contents: "storeId:changes"
+     * The random store id tells database files apart and triggers bump the change counter
+     * on every insert, update and delete - from any connection or process.
+     * Returns null if the stamp cannot be read
+     */
+    public synchronized String getContentVersion() {
+        try (ResultSet rs = prepared(CONTENT_VERSION_SQL).executeQuery()) {
+            return rs.next() ? rs.getString(1) : null;
+        } catch (SQLException e) {
+            System.err.println("❌ Error reading database content version!");
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    public synchronized int countContacts() {
+        try (ResultSet rs = prepared(COUNT_SQL).executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            System.err.println("❌ Error counting contacts!");
+            e.printStackTrace();
+            return 0;
+        }
+    }
+    
+    private static List<Contact> readContacts(PreparedStatement pstmt) throws SQLException {
+        List<Contact> contacts = new ArrayList<>();
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                contacts.add(new Contact(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+            }
+        }
+        return contacts;
+    }
+    
+    /**
+     * Keyset pagination: up to limit contacts strictly after the cursor in the given order
+     * (after = null starts at the beginning; category = null means every category)
+     * Seeks straight to the cursor through an index, so the cost depends on the page size only
+     */
+    public synchronized ContactPage page(PageKey after, int limit, String category, ResultOrder order) {
+        if (after != null && after.getOrder() != order) {
+            throw new IllegalArgumentException("Page cursor belongs to order " + after.getOrder() + ", not " + order);
+        }
+        
+        String[] keyColumns = order.keyColumns();
+        int pinned = category != null ? order.pinnedByCategory() : 0;
+        StringBuilder sql = new StringBuilder("SELECT name, phone, email, category, ")
+                .append(order.orderBy()).append(" FROM contacts WHERE 1 = 1");
+        if (category != null) {
+            sql.append(" AND category = ?");
+        }
+        if (after != null) {
+            sql.append(" AND ").append(order.afterPredicate(pinned));
+        }
+        sql.append(" ORDER BY ").append(order.orderBy()).append(" LIMIT ?");
+        
+        List<Contact> contacts = new ArrayList<>();
+        Object[] lastKey = null;
+        try {
+            PreparedStatement pstmt = prepared(sql.toString());
+            int index = 1;
+            if (category != null) {
+                pstmt.setString(index++, category);
+            }
+            if (after != null) {
+                Object[] values = after.getValues();
+                for (int i = pinned; i < values.length; i++) {
+                    pstmt.setObject(index++, values[i]);
+                }
+            }
+            // One extra row tells whether another page follows
+            pstmt.setInt(index, Math.max(1, limit) + 1);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (contacts.size() == Math.max(1, limit)) {
+                        return new ContactPage(contacts, new PageKey(order, lastKey));
+                    }
+                    contacts.add(new Contact(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+                    lastKey = new Object[keyColumns.length];
+                    for (int i = 0; i < keyColumns.length; i++) {
+                        lastKey[i] = rs.getObject(5 + i);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error reading a page of contacts!");
+            e.printStackTrace();
+        }
+        return new ContactPage(contacts, null);
+    }
+    
+    /**
+     * Stream contacts matching the filter in insertion order
+     */
+    public long streamContacts(ContactFilter filter, ContactSink sink) throws IOException {
+        return streamContacts(filter, ResultOrder.INSERTION, sink);
+    }
+    
+    /**
+     * Stream contacts matching the filter through a forward-only cursor
+     * Rows are handed to the sink one at a time and never collected, so heap use stays constant
+     * Returns the number of rows streamed
+     */
+    public synchronized long streamContacts(ContactFilter filter, ResultOrder order, ContactSink sink) throws IOException {
+        StringBuilder sql = new StringBuilder("SELECT name, phone, email, category FROM contacts WHERE 1 = 1");
+        List<String> params = new ArrayList<>();
+        
+        if (filter.getCategory() != null) {
+            sql.append(" AND category = ?");
+            params.add(filter.getCategory());
+        }
+        if (filter.getNameFrom() != null) {
+            sql.append(" AND name >= ? COLLATE NOCASE");
+            params.add(filter.getNameFrom());
+        }
+        if (filter.getNameTo() != null) {
+            sql.append(" AND name < ? COLLATE NOCASE");
+            params.add(filter.getNameTo());
+        }
+        sql.append(" ORDER BY ").append(order.orderBy());
+        
+        long count = 0;
+        try (PreparedStatement pstmt = connection.prepareStatement(sql.toString(),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setString(i + 1, params.get(i));
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    sink.accept(new Contact(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+                    count++;
+                }
+            }
+            
+        } catch (SQLException e) {
+            throw new IOException("Error streaming contacts from database", e);
+        }
+        return count;
+    }
+    
     /**
      * Insert a new contact into database
      * Called AFTER successful addition to DSA structures
      */
-    public boolean insertContact(Contact contact) {
-        String sql = "INSERT INTO contacts(name, phone, email, category) VALUES(?, ?, ?, ?)";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, contact.getName());
-            pstmt.setString(2, contact.getPhoneNumber());
-            pstmt.setString(3, contact.getEmail());
-            pstmt.setString(4, contact.getCategory());
+    public synchronized boolean insertContact(Contact contact) {
+        try {
+            PreparedStatement pstmt = prepared(INSERT_SQL);
+            bindContact(pstmt, contact);
             
             pstmt.executeUpdate();
             return true;
@@ -114,18 +626,107 @@ public class DatabaseManager {
         }
     }
     
+    /**
+     * Bulk insert using the default chunk size
+     */
+    public BatchResult insertContacts(List<Contact> contacts) {
+        return insertContacts(contacts, DEFAULT_BATCH_SIZE);
+    }
+    
+    /**
+     * Bulk insert contacts with one reused PreparedStatement and one transaction per chunk
+     * Rows that violate the UNIQUE phone constraint are reported as rejected
+     * without aborting the rest of the batch
+     */
+    public synchronized BatchResult insertContacts(List<Contact> contacts, int chunkSize) {
+        BatchResult result = new BatchResult();
+        if (contacts.isEmpty()) {
+            return result;
+        }
+        
+        // OR IGNORE turns a constraint violation into an update count of 0 for that row
+        int size = Math.max(1, chunkSize);
+        
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            
+            try {
+                PreparedStatement pstmt = prepared(INSERT_OR_IGNORE_SQL);
+                for (int from = 0; from < contacts.size(); from += size) {
+                    List<Contact> chunk = contacts.subList(from, Math.min(from + size, contacts.size()));
+                    insertChunk(pstmt, chunk, result);
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("❌ Error during bulk insert!");
+            e.printStackTrace();
+        }
+        
+        // Anything not accounted for (e.g. connection failure) counts as rejected
+        int accounted = result.getInsertedCount() + result.getRejectedCount();
+        if (accounted < contacts.size()) {
+            result.getRejected().addAll(contacts.subList(accounted, contacts.size()));
+        }
+        
+        System.out.println("✅ Bulk insert finished - " + result);
+        return result;
+    }
+    
+    /**
+     * Insert one chunk in a single transaction.
+     * If the batch itself fails, the chunk is rolled back and retried row by row
+     * so that only the offending rows are rejected.
+     */
+    private void insertChunk(PreparedStatement pstmt, List<Contact> chunk, BatchResult result) throws SQLException {
+        try {
+            for (Contact contact : chunk) {
+                bindContact(pstmt, contact);
+                pstmt.addBatch();
+            }
+            int[] counts = pstmt.executeBatch();
+            connection.commit();
+            
+            for (int i = 0; i < chunk.size(); i++) {
+                boolean inserted = i < counts.length && (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO);
+                (inserted ? result.getInserted() : result.getRejected()).add(chunk.get(i));
+            }
+            
+        } catch (SQLException batchError) {
+            pstmt.clearBatch();
+            connection.rollback();
+            
+            for (Contact contact : chunk) {
+                try {
+                    bindContact(pstmt, contact);
+                    boolean inserted = pstmt.executeUpdate() > 0;
+                    (inserted ? result.getInserted() : result.getRejected()).add(contact);
+                } catch (SQLException rowError) {
+                    result.getRejected().add(contact);
+                }
+            }
+            connection.commit();
+        }
+    }
+    
+    private static void bindContact(PreparedStatement pstmt, Contact contact) throws SQLException {
+        pstmt.setString(1, contact.getName());
+        pstmt.setString(2, contact.getPhoneNumber());
+        pstmt.setString(3, contact.getEmail());
+        pstmt.setString(4, contact.getCategory());
+    }
+    
     /**
      * Update an existing contact in database
      * Called AFTER successful update in DSA structures
      */
-    public boolean updateContact(String oldPhone, Contact updatedContact) {
-        String sql = "UPDATE contacts SET name = ?, phone = ?, email = ?, category = ? WHERE phone = ?";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, updatedContact.getName());
-            pstmt.setString(2, updatedContact.getPhoneNumber());
-            pstmt.setString(3, updatedContact.getEmail());
-            pstmt.setString(4, updatedContact.getCategory());
+    public synchronized boolean updateContact(String oldPhone, Contact updatedContact) {
+        try {
+            PreparedStatement pstmt = prepared(UPDATE_SQL);
+            bindContact(pstmt, updatedContact);
             pstmt.setString(5, oldPhone);
             
             int rowsAffected = pstmt.executeUpdate();
@@ -142,10 +743,9 @@ public class DatabaseManager {
      * Delete a contact from database
      * Called AFTER successful deletion from DSA structures
      */
-    public boolean deleteContact(String phone) {
-        String sql = "DELETE FROM contacts WHERE phone = ?";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+    public synchronized boolean deleteContact(String phone) {
+        try {
+            PreparedStatement pstmt = prepared(DELETE_SQL);
             pstmt.setString(1, phone);
             
             int rowsAffected = pstmt.executeUpdate();
@@ -158,12 +758,84 @@ public class DatabaseManager {
         }
     }
     
+    /**
+     * Apply queued write-behind operations in order inside ONE transaction (group commit)
+     * A failing operation is rolled back on its own and reported; the rest of the group still commits
+     * Returns the operations that could not be applied
+     */
+    public synchronized List<WriteOperation> applyBatch(List<WriteOperation> operations) {
+        List<WriteOperation> failed = new ArrayList<>();
+        if (operations.isEmpty()) {
+            return failed;
+        }
+        
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            
+            try {
+                PreparedStatement insert = prepared(INSERT_SQL);
+                PreparedStatement update = prepared(UPDATE_SQL);
+                PreparedStatement delete = prepared(DELETE_SQL);
+                
+                for (WriteOperation operation : operations) {
+                    Savepoint savepoint = connection.setSavepoint();
+                    try {
+                        int rows;
+                        switch (operation.getType()) {
+                            case INSERT:
+                                bindContact(insert, operation.getContact());
+                                rows = insert.executeUpdate();
+                                break;
+                            case UPDATE:
+                                bindContact(update, operation.getContact());
+                                update.setString(5, operation.getPhone());
+                                rows = update.executeUpdate();
+                                break;
+                            default:
+                                delete.setString(1, operation.getPhone());
+                                rows = delete.executeUpdate();
+                                break;
+                        }
+                        if (rows == 0) {
+                            failed.add(operation);
+                        }
+                        connection.releaseSavepoint(savepoint);
+                    } catch (SQLException rowError) {
+                        connection.rollback(savepoint);
+                        failed.add(operation);
+                    }
+                }
+                connection.commit();
+                
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("❌ Error writing queued changes to database!");
+            e.printStackTrace();
+            // Nothing of this group was committed
+            failed.clear();
+            failed.addAll(operations);
+        }
+        
+        return failed;
+    }
+    
     /**
      * Close database connection
      */
-    public void closeConnection() {
+    public synchronized void closeConnection() {
         try {
             if (connection != null && !connection.isClosed()) {
+                for (PreparedStatement pstmt : statementCache.values()) {
+                    pstmt.close();
+                }
+                statementCache.clear();
                 connection.close();
                 System.out.println("✅ Database connection closed!");
             }
@@ -176,7 +848,7 @@ public class DatabaseManager {
     /**
      * Clear all contacts from database (for testing purposes)
      */
-    public void clearAllContacts() {
+    public synchronized void clearAllContacts() {
         String sql = "DELETE FROM contacts";
         
         try (Statement stmt = connection.createStatement()) {
@@ -0,0 +1,55 @@
+package database;
+
+/**
+ * DurabilityPolicy decides when write-behind persistence commits queued writes
+ *
+ *   perOperation()  - write as soon as possible (ops that pile up meanwhile share one transaction)
+ *   everyMillis(n)  - group everything queued within n milliseconds into one transaction
+ *   everyOperations(n) - commit once n operations are queued
+ *
+ * flush() and close() always write everything queued, whatever the policy.
+ */
+public class DurabilityPolicy {
+    
+    enum Mode { PER_OPERATION, INTERVAL, OPERATION_COUNT }
+    
+    private final Mode mode;
+    private final long value;
+    
+    private DurabilityPolicy(Mode mode, long value) {
+        this.mode = mode;
+        this.value = value;
+    }
+    
+    public static DurabilityPolicy perOperation() {
+        return new DurabilityPolicy(Mode.PER_OPERATION, 1);
+    }
+    
+    public static DurabilityPolicy everyMillis(long millis) {
+        return new DurabilityPolicy(Mode.INTERVAL, Math.max(1, millis));
+    }
+    
+    public static DurabilityPolicy everyOperations(int operations) {
+        return new DurabilityPolicy(Mode.OPERATION_COUNT, Math.max(1, operations));
+    }
+    
+    Mode getMode() {
+        return mode;
+    }
+    
+    long getValue() {
+        return value;
+    }
+    
+    @Override
+    public String toString() {
+        switch (mode) {
+            case INTERVAL:
+                return "every " + value + " ms";
+            case OPERATION_COUNT:
+                return "every " + value + " operations";
+            default:
+                return "per operation";
+        }
+    }
+}
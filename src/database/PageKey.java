@@ -0,0 +1,46 @@
+package database;
+
+import java.util.Arrays;
+
+/**
+ * PageKey is a keyset pagination cursor: the sort-key values of the last row of a page
+ * The next page starts strictly after these values, so rows inserted or deleted elsewhere
+ * never shift a page (no skipped or repeated rows, unlike OFFSET paging)
+ */
+public final class PageKey {
+    
+    private final ResultOrder order;
+    private final Object[] values;
+    
+    PageKey(ResultOrder order, Object[] values) {
+        this.order = order;
+        this.values = values;
+    }
+    
+    /**
+     * Cursor of an in-memory listing (IN_MEMORY storage mode): the list key of the last contact
+     */
+    public static PageKey ofListKey(ResultOrder order, long listKey) {
+        return new PageKey(order, new Object[] {listKey});
+    }
+    
+    public long getListKey() {
+        return (Long) values[0];
+    }
+    
+    /**
+     * The order this cursor belongs to - it cannot be used with any other
+     */
+    public ResultOrder getOrder() {
+        return order;
+    }
+    
+    Object[] getValues() {
+        return values;
+    }
+    
+    @Override
+    public String toString() {
+        return order + Arrays.toString(values);
+    }
+}
@@ -0,0 +1,112 @@
+package database;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReaderPool hands every streamed read its own read-only connection
+ * DSA Concept: Stack (LIFO) of idle connections - the most recently used one is reused first
+ *
+ * One reader is opened up front; another is only opened when every idle one is busy, so a
+ * stream that is slow to consume its rows (e.g. a client that stops reading) never holds up
+ * the others. Under WAL none of them ever waits for the writer.
+ *
+ * At most maxReaders connections are open at once (a Semaphore of permits): past that a stream
+ * waits for one to be released, no longer than its timeout. Connections released while maxIdle
+ * are already idle are closed, so a burst of streams does not leave its connections open.
+ */
+public class ReaderPool {
+    
+    public static final int DEFAULT_MAX_READERS = 16;
+    public static final int DEFAULT_MAX_IDLE = 4;
+    
+    private final DatabaseManager dbManager;
+    private final ConcurrentLinkedDeque<DatabaseManager> idle = new ConcurrentLinkedDeque<>();
+    private final Semaphore permits;
+    private final int maxIdle;
+    private volatile boolean closed;
+    
+    public ReaderPool(DatabaseManager dbManager) {
+        this(dbManager, DEFAULT_MAX_READERS, DEFAULT_MAX_IDLE);
+    }
+    
+    public ReaderPool(DatabaseManager dbManager, int maxReaders, int maxIdle) {
+        if (maxReaders < 1 || maxIdle < 1 || maxIdle > maxReaders) {
+            throw new IllegalArgumentException("Need 1 <= maxIdle <= maxReaders, got maxIdle=" + maxIdle
+                                               + ", maxReaders=" + maxReaders);
+        }
+        this.dbManager = dbManager;
+        this.permits = new Semaphore(maxReaders, true);
+        this.maxIdle = maxIdle;
+        idle.push(dbManager.openReader());
+    }
+    
+    /**
+     * Stream contacts matching the filter on a connection no other stream is using,
+     * waiting as long as it takes for one to be free
+     */
+    public long streamContacts(ContactFilter filter, ContactSink sink) throws IOException {
+        return streamContacts(filter, Long.MAX_VALUE, TimeUnit.NANOSECONDS, sink);
+    }
+    
+    /**
+     * Stream contacts matching the filter on a connection no other stream is using
+     * Throws InterruptedIOException if every connection is still busy after the timeout
+     */
+    public long streamContacts(ContactFilter filter, long timeout, TimeUnit unit, ContactSink sink) throws IOException {
+        DatabaseManager reader = borrow(timeout, unit);
+        try {
+            return reader.streamContacts(filter, sink);
+        } finally {
+            release(reader);
+        }
+    }
+    
+    /**
+     * Close the idle connections now; connections still streaming close when their stream ends
+     */
+    public void close() {
+        closed = true;
+        DatabaseManager reader;
+        while ((reader = idle.poll()) != null) {
+            reader.closeConnection();
+        }
+    }
+    
+    private DatabaseManager borrow(long timeout, TimeUnit unit) throws IOException {
+        if (closed) {
+            throw new IOException("Database is closed");
+        }
+        try {
+            if (!permits.tryAcquire(timeout, unit)) {
+                throw new InterruptedIOException("No database reader free within " + unit.toMillis(timeout) + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a database reader");
+        }
+        try {
+            if (closed) {
+                throw new IOException("Database is closed");
+            }
+            DatabaseManager reader = idle.poll();
+            return reader != null ? reader : dbManager.openReader();
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    // Pushed back before checking closed: either close() drains it or we close it here.
+    // The permit is only returned once the connection is idle again or closed
+    private void release(DatabaseManager reader) {
+        idle.push(reader);
+        if ((closed || idle.size() > maxIdle) && idle.remove(reader)) {
+            reader.closeConnection();
+        }
+        permits.release();
+    }
+}
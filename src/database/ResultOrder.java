@@ -0,0 +1,56 @@
+package database;
+
+/**
+ * Row orders for SQL-side reads
+ * Each order is a tuple of key columns (compared left to right); the last column is unique,
+ * so the tuple of the last row read is a stable keyset pagination cursor (see PageKey)
+ * INSERTION, NAME and CATEGORY_THEN_NAME are served straight from an index; the others need a sort in SQLite
+ */
+public enum ResultOrder {
+    
+    INSERTION("id"),
+    NAME("name COLLATE NOCASE", "phone"),
+    CATEGORY_THEN_NAME("category", "name COLLATE NOCASE", "phone"),
+    // ifnull: a NULL key would never compare greater than a cursor
+    EMAIL_DOMAIN("substr(ifnull(email, ''), instr(ifnull(email, ''), '@') + 1) COLLATE NOCASE", "name COLLATE NOCASE", "phone"),
+    PHONE("phone");
+    
+    private final String[] keyColumns;
+    
+    ResultOrder(String... keyColumns) {
+        this.keyColumns = keyColumns;
+    }
+    
+    String[] keyColumns() {
+        return keyColumns;
+    }
+    
+    String orderBy() {
+        return String.join(", ", keyColumns);
+    }
+    
+    /**
+     * Row-value predicate selecting rows strictly after a cursor: (k1, k2, ...) > (?, ? COLLATE NOCASE, ...)
+     * starting at key column "from" (earlier columns are pinned by an equality filter).
+     * Collations go on the parameters - SQLite only seeks an index with a row value when the
+     * left-hand side is the bare indexed columns
+     */
+    String afterPredicate(int from) {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder parameters = new StringBuilder();
+        for (int i = from; i < keyColumns.length; i++) {
+            String separator = i == from ? "" : ", ";
+            int collate = keyColumns[i].indexOf(" COLLATE ");
+            columns.append(separator).append(collate < 0 ? keyColumns[i] : keyColumns[i].substring(0, collate));
+            parameters.append(separator).append(collate < 0 ? "?" : "?" + keyColumns[i].substring(collate));
+        }
+        return "(" + columns + ") > (" + parameters + ")";
+    }
+    
+    /**
+     * Number of leading key columns fixed by a category filter
+     */
+    int pinnedByCategory() {
+        return keyColumns[0].equals("category") ? 1 : 0;
+    }
+}
@@ -0,0 +1,106 @@
+package database;
+
+/**
+ * StorageProfile holds the SQLite settings applied to every connection
+ *
+ *   journal_mode - DELETE (rollback journal) or WAL (readers never block the writer)
+ *   synchronous  - FULL fsyncs on every commit; NORMAL only at WAL checkpoints
+ *   cache_size   - page cache per connection, in KiB
+ *   mmap_size    - bytes of the file read through memory mapping (0 = off)
+ *   temp_store   - DEFAULT (file) or MEMORY for temporary tables and sort spills
+ */
+public class StorageProfile {
+    
+    // Plain SQLite defaults - what the phonebook used before profiles existed
+    public static final StorageProfile SQLITE_DEFAULTS =
+            new StorageProfile("sqlite-defaults", "DELETE", "FULL", 2_000, 0, "DEFAULT");
+    
+    // WAL with full fsync on commit - nothing committed is ever lost
+    public static final StorageProfile DURABLE =
+            new StorageProfile("durable", "WAL", "FULL", 16_384, 64L << 20, "MEMORY");
+    
+    // WAL with NORMAL sync - a power cut may drop the last commits, but the file never corrupts
+    public static final StorageProfile BALANCED =
+            new StorageProfile("balanced", "WAL", "NORMAL", 16_384, 256L << 20, "MEMORY");
+    
+    public static final StorageProfile[] PRESETS = {SQLITE_DEFAULTS, DURABLE, BALANCED};
+    
+    private final String name;
+    private final String journalMode;
+    private final String synchronous;
+    private final int cacheSizeKb;
+    private final long mmapSizeBytes;
+    private final String tempStore;
+    
+    public StorageProfile(String name, String journalMode, String synchronous,
+                          int cacheSizeKb, long mmapSizeBytes, String tempStore) {
+        this.name = name;
+        this.journalMode = journalMode.toUpperCase();
+        this.synchronous = synchronous.toUpperCase();
+        this.cacheSizeKb = Math.max(0, cacheSizeKb);
+        this.mmapSizeBytes = Math.max(0, mmapSizeBytes);
+        this.tempStore = tempStore.toUpperCase();
+    }
+    
+    /**
+     * Look up a preset by name (case-insensitive); null if unknown
+     */
+    public static StorageProfile fromName(String name) {
+        for (StorageProfile profile : PRESETS) {
+            if (profile.name.equalsIgnoreCase(name.trim())) {
+                return profile;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * PRAGMA statements for a connection; read-only connections skip journal_mode,
+     * which needs write access and is stored in the database file anyway
+     */
+    String[] pragmas(boolean readOnly) {
+        String[] perConnection = {
+            "PRAGMA synchronous = " + synchronous,
+            "PRAGMA cache_size = -" + cacheSizeKb,   // negative = KiB instead of pages
+            "PRAGMA mmap_size = " + mmapSizeBytes,
+            "PRAGMA temp_store = " + tempStore
+        };
+        if (readOnly) {
+            return perConnection;
+        }
+        String[] all = new String[perConnection.length + 1];
+        all[0] = "PRAGMA journal_mode = " + journalMode;
+        System.arraycopy(perConnection, 0, all, 1, perConnection.length);
+        return all;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getJournalMode() {
+        return journalMode;
+    }
+    
+    public String getSynchronous() {
+        return synchronous;
+    }
+    
+    public int getCacheSizeKb() {
+        return cacheSizeKb;
+    }
+    
+    public long getMmapSizeBytes() {
+        return mmapSizeBytes;
+    }
+    
+    public String getTempStore() {
+        return tempStore;
+    }
+    
+    @Override
+    public String toString() {
+        return name + " (journal=" + journalMode + ", synchronous=" + synchronous
+                + ", cache=" + cacheSizeKb + " KiB, mmap=" + (mmapSizeBytes >> 20) + " MiB, temp_store=" + tempStore + ")";
+    }
+}
@@ -0,0 +1,309 @@
+package database;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WriteBehindQueue persists writes in the background with group commit
+ * DSA Concept: Queue (FIFO) - operations are written in exactly the order they were submitted
+ *
+ * Callers only pay for an enqueue; a single writer thread drains the queue into
+ * DatabaseManager.applyBatch, one transaction per group, according to the DurabilityPolicy.
+ * The queue is bounded: when a burst outpaces the disk, submit waits for the writer to take the
+ * next group (back-pressure), which also caps how many writes a crash can lose.
+ */
+public class WriteBehindQueue {
+    
+    // Writes allowed to wait in the queue before submit blocks
+    public static final int DEFAULT_CAPACITY = 10_000;
+    
+    private final DatabaseManager dbManager;
+    private final DurabilityPolicy policy;
+    private final WriteFailureListener listener;
+    private final int capacity;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Condition written = lock.newCondition();
+    private final Condition spaceAvailable = lock.newCondition();
+    
+    // Guarded by lock
+    private final ArrayDeque<WriteOperation> pending = new ArrayDeque<>();
+    private final List<WriteOperation> failures = new ArrayList<>();
+    private List<WriteOperation> inFlight = new ArrayList<>();   // group the writer is writing now
+    private long submitted;         // operations ever submitted
+    private long completed;         // operations ever written (or failed)
+    private long flushTarget;       // write everything up to this sequence number now
+    private long oldestPendingNanos;
+    private boolean closed;
+    private boolean writerStopped;  // nothing submitted from now on will be written
+    
+    private final Thread writer;
+    
+    public WriteBehindQueue(DatabaseManager dbManager, DurabilityPolicy policy, WriteFailureListener listener) {
+        this(dbManager, policy, listener, DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * The listener runs on the writer thread, so it must not wait for a caller blocked in submit
+     */
+    public WriteBehindQueue(DatabaseManager dbManager, DurabilityPolicy policy, WriteFailureListener listener, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        }
+        this.dbManager = dbManager;
+        this.policy = policy;
+        this.listener = listener;
+        this.capacity = capacity;
+        
+        writer = new Thread(this::writeLoop, "phonebook-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    /**
+     * Queue a write - returns immediately unless the queue is full, then waits for the writer
+     */
+    public void submit(WriteOperation operation) {
+        List<WriteOperation> abandoned = new ArrayList<>();
+        lock.lock();
+        try {
+            boolean interrupted = false;
+            while (pending.size() >= capacity && !closed && !writerStopped) {
+                workAvailable.signal();
+                try {
+                    spaceAvailable.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (closed) {
+                throw new IllegalStateException("Write-behind queue is closed");
+            }
+            submitted++;
+            if (writerStopped) {
+                // Nothing will write it - fail it now instead of letting such writes pile up
+                completed++;
+                failures.add(operation);
+                abandoned.add(operation);
+            } else {
+                if (pending.isEmpty()) {
+                    oldestPendingNanos = System.nanoTime();
+                }
+                pending.addLast(operation);
+                workAvailable.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        notifyFailed(abandoned);
+    }
+    
+    /**
+     * Barrier: block until every write submitted before this call is persisted (or has failed)
+     * Failures are kept for the next flush, so reads can wait for the database without consuming them
+     */
+    public void awaitWritten() {
+        List<WriteOperation> abandoned;
+        lock.lock();
+        try {
+            abandoned = awaitCompleted();
+        } finally {
+            lock.unlock();
+        }
+        notifyFailed(abandoned);
+    }
+    
+    /**
+     * Barrier: block until every write submitted before this call is persisted
+     * Returns the writes that failed since the previous flush
+     */
+    public List<WriteOperation> flush() {
+        List<WriteOperation> abandoned;
+        List<WriteOperation> failed;
+        lock.lock();
+        try {
+            abandoned = awaitCompleted();
+            failed = new ArrayList<>(failures);
+            failures.clear();
+        } finally {
+            lock.unlock();
+        }
+        notifyFailed(abandoned);
+        return failed;
+    }
+    
+    /**
+     * Flush everything and stop the writer thread
+     * Returns the writes that failed since the previous flush
+     */
+    public List<WriteOperation> close() {
+        List<WriteOperation> failed = flush();
+        
+        lock.lock();
+        try {
+            closed = true;
+            workAvailable.signal();
+            spaceAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return failed;
+    }
+    
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public DurabilityPolicy getPolicy() {
+        return policy;
+    }
+    
+    private void writeLoop() {
+        try {
+            while (true) {
+                List<WriteOperation> group;
+                
+                lock.lock();
+                try {
+                    while (!readyToWrite()) {
+                        if (closed && pending.isEmpty()) {
+                            return;
+                        }
+                        long waitNanos = nanosUntilDue();
+                        if (waitNanos > 0) {
+                            workAvailable.awaitNanos(waitNanos);
+                        } else {
+                            workAvailable.await();
+                        }
+                    }
+                    group = new ArrayList<>(pending);
+                    pending.clear();
+                    inFlight = group;
+                    spaceAvailable.signalAll();
+                } catch (InterruptedException e) {
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+                
+                List<WriteOperation> failed;
+                try {
+                    failed = dbManager.applyBatch(group);
+                } catch (RuntimeException e) {
+                    // e.g. the connection is gone - no write of the group is known to be stored
+                    System.err.println("❌ Error writing queued changes to database: " + e);
+                    failed = group;
+                }
+                
+                lock.lock();
+                try {
+                    completed += group.size();
+                    inFlight = new ArrayList<>();
+                    failures.addAll(failed);
+                    written.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                
+                notifyFailed(failed);
+            }
+        } finally {
+            // Interrupted, or an Error escaped: whatever is still queued will never be written
+            List<WriteOperation> abandoned;
+            lock.lock();
+            try {
+                writerStopped = true;
+                abandoned = abandonOutstanding();
+            } finally {
+                lock.unlock();
+            }
+            notifyFailed(abandoned);
+        }
+    }
+    
+    // Called with lock held: wait for every write submitted so far; returns the writes given up on
+    private List<WriteOperation> awaitCompleted() {
+        long target = submitted;
+        flushTarget = Math.max(flushTarget, target);
+        workAvailable.signal();
+        
+        boolean interrupted = false;
+        while (completed < target && !writerStopped) {
+            try {
+                written.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        // Submitted after the writer stopped - nothing will write them
+        return completed < target ? abandonOutstanding() : new ArrayList<>();
+    }
+    
+    // Called with lock held: count everything not yet written as failed and wake all waiters
+    private List<WriteOperation> abandonOutstanding() {
+        List<WriteOperation> abandoned = new ArrayList<>(inFlight);
+        abandoned.addAll(pending);
+        inFlight = new ArrayList<>();
+        pending.clear();
+        completed = submitted;
+        failures.addAll(abandoned);
+        written.signalAll();
+        spaceAvailable.signalAll();
+        return abandoned;
+    }
+    
+    private void notifyFailed(List<WriteOperation> failed) {
+        if (!failed.isEmpty() && listener != null) {
+            listener.onWriteFailed(failed);
+        }
+    }
+    
+    // Called with lock held
+    private boolean readyToWrite() {
+        if (pending.isEmpty()) {
+            return false;
+        }
+        if (closed || flushTarget > completed || pending.size() >= capacity) {
+            return true;
+        }
+        switch (policy.getMode()) {
+            case INTERVAL:
+                return nanosUntilDue() <= 0;
+            case OPERATION_COUNT:
+                return pending.size() >= policy.getValue();
+            default:
+                return true;
+        }
+    }
+    
+    // Called with lock held: time left before an interval group is due (0 = no timer)
+    private long nanosUntilDue() {
+        if (policy.getMode() != DurabilityPolicy.Mode.INTERVAL || pending.isEmpty()) {
+            return 0;
+        }
+        long due = oldestPendingNanos + TimeUnit.MILLISECONDS.toNanos(policy.getValue());
+        return Math.max(0, due - System.nanoTime());
+    }
+}
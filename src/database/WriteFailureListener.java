@@ -0,0 +1,10 @@
+package database;
+
+import java.util.List;
+
+/**
+ * Notified (on the background writer thread) when queued writes could not be persisted
+ */
+public interface WriteFailureListener {
+    void onWriteFailed(List<WriteOperation> failed);
+}
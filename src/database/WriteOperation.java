@@ -0,0 +1,51 @@
+package database;
+
+import model.Contact;
+
+/**
+ * One pending database write queued by write-behind persistence
+ * Contacts are immutable, so the queued contact is exactly what gets written
+ */
+public class WriteOperation {
+    
+    public enum Type { INSERT, UPDATE, DELETE }
+    
+    private final Type type;
+    private final String phone;      // row key: current phone (INSERT), old phone (UPDATE / DELETE)
+    private final Contact contact;   // values to write (null for DELETE)
+    
+    private WriteOperation(Type type, String phone, Contact contact) {
+        this.type = type;
+        this.phone = phone;
+        this.contact = contact;
+    }
+    
+    public static WriteOperation insert(Contact contact) {
+        return new WriteOperation(Type.INSERT, contact.getPhoneNumber(), contact);
+    }
+    
+    public static WriteOperation update(String oldPhone, Contact contact) {
+        return new WriteOperation(Type.UPDATE, oldPhone, contact);
+    }
+    
+    public static WriteOperation delete(String phone) {
+        return new WriteOperation(Type.DELETE, phone, null);
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public String getPhone() {
+        return phone;
+    }
+    
+    public Contact getContact() {
+        return contact;
+    }
+    
+    @Override
+    public String toString() {
+        return type + " " + phone;
+    }
+}
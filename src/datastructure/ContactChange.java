@@ -0,0 +1,71 @@
+package datastructure;
+
+import model.Contact;
+
+/**
+ * ContactChange describes one change to the phonebook, delivered to ContactChangeListeners
+ *   ADDED    newContact was added
+ *   REMOVED  oldContact was deleted
+ *   UPDATED  oldContact was replaced by newContact (same list positions)
+ *   RESET    many contacts or their order changed at once (sort, bulk add) - reload what is shown
+ */
+public final class ContactChange {
+    
+    public enum Type {
+        ADDED, REMOVED, UPDATED, RESET
+    }
+    
+    private static final ContactChange RESET = new ContactChange(Type.RESET, null, null);
+    
+    private final Type type;
+    private final Contact oldContact;   // null for ADDED and RESET
+    private final Contact newContact;   // null for REMOVED and RESET
+    
+    private ContactChange(Type type, Contact oldContact, Contact newContact) {
+        this.type = type;
+        this.oldContact = oldContact;
+        this.newContact = newContact;
+    }
+    
+    static ContactChange added(Contact contact) {
+        return new ContactChange(Type.ADDED, null, contact);
+    }
+    
+    static ContactChange removed(Contact contact) {
+        return new ContactChange(Type.REMOVED, contact, null);
+    }
+    
+    static ContactChange updated(Contact oldContact, Contact newContact) {
+        return new ContactChange(Type.UPDATED, oldContact, newContact);
+    }
+    
+    static ContactChange reset() {
+        return RESET;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public Contact getOldContact() {
+        return oldContact;
+    }
+    
+    public Contact getNewContact() {
+        return newContact;
+    }
+    
+    @Override
+    public String toString() {
+        switch (type) {
+            case ADDED:
+                return "ADDED " + newContact.getPhoneNumber();
+            case REMOVED:
+                return "REMOVED " + oldContact.getPhoneNumber();
+            case UPDATED:
+                return "UPDATED " + oldContact.getPhoneNumber() + " -> " + newContact.getPhoneNumber();
+            default:
+                return "RESET";
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package datastructure;
+
+import java.util.List;
+
+/**
+ * Notified after every change to the phonebook, in the order the changes were made
+ * Called on the thread that made the change, after the write lock is released -
+ * reading the phonebook is fine, changing it from here is not
+ */
+public interface ContactChangeListener {
+    void onChange(List<ContactChange> changes);
+}
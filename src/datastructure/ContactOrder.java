@@ -0,0 +1,66 @@
+package datastructure;
+
+import database.ResultOrder;
+import model.Contact;
+import java.text.CollationKey;
+
+/**
+ * Orderings available to the parallel sort engine
+ * Each ordering turns a contact into its collation keys (compared left to right);
+ * name keys come from the contact's cache, so they are never rebuilt
+ */
+public enum ContactOrder {
+    
+    NAME("Name") {
+        @Override
+        CollationKey[] sortKeys(Contact contact) {
+            return new CollationKey[] {contact.getNameCollationKey(), Contact.collationKeyOf(contact.getPhoneNumber())};
+        }
+    },
+    
+    CATEGORY_THEN_NAME("Category, then Name") {
+        @Override
+        CollationKey[] sortKeys(Contact contact) {
+            return new CollationKey[] {Contact.collationKeyOf(contact.getCategory()), contact.getNameCollationKey(),
+                                       Contact.collationKeyOf(contact.getPhoneNumber())};
+        }
+    },
+    
+    EMAIL_DOMAIN("Email Domain, then Name") {
+        @Override
+        CollationKey[] sortKeys(Contact contact) {
+            String email = contact.getEmail() == null ? "" : contact.getEmail();
+            int at = email.lastIndexOf('@');
+            String domain = at >= 0 ? email.substring(at + 1) : "";
+            return new CollationKey[] {Contact.collationKeyOf(domain), contact.getNameCollationKey(),
+                                       Contact.collationKeyOf(contact.getPhoneNumber())};
+        }
+    },
+    
+    PHONE("Phone Number") {
+        @Override
+        CollationKey[] sortKeys(Contact contact) {
+            return new CollationKey[] {Contact.collationKeyOf(contact.getPhoneNumber())};
+        }
+    };
+    
+    private final String label;
+    
+    ContactOrder(String label) {
+        this.label = label;
+    }
+    
+    abstract CollationKey[] sortKeys(Contact contact);
+    
+    /**
+     * The same ordering expressed as SQL (used in DATABASE storage mode)
+     */
+    ResultOrder toResultOrder() {
+        return ResultOrder.valueOf(name());
+    }
+    
+    @Override
+    public String toString() {
+        return label;
+    }
+}
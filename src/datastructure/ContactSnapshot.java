@@ -0,0 +1,194 @@
+package datastructure;
+
+import model.Contact;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * ContactSnapshot is one immutable, versioned state of the phonebook
+ * DSA Concept: MVCC over persistent trees - every change builds the next version by path copying,
+ * sharing all untouched nodes, and publishes it; a reader keeps whichever version it took and
+ * sees one consistent state for as long as it likes, without locks or copies
+ *
+ * Contacts are keyed by sequence numbers: the main list and each category list are
+ * persistent trees ordered by those keys, a third tree maps phone numbers to contacts and
+ * a fourth keeps them in alphabetical order (the sorted index).
+ * A contact has the same key in the main list and in its category's list, so every category
+ * list is in list order.
+ */
+public final class ContactSnapshot {
+    
+    // Order of the sorted index: name collation key, then phone number (unique)
+    static final Comparator<Contact> ALPHABETICAL = Comparator.comparing(Contact::getNameCollationKey)
+            .thenComparing(Contact::getPhoneNumber);
+    
+    static final ContactSnapshot EMPTY = new ContactSnapshot(0, PersistentTreeMap.empty(),
+            Collections.emptyMap(), PersistentTreeMap.empty(), PersistentTreeMap.empty(ALPHABETICAL));
+    
+    private final long version;
+    private final PersistentTreeMap<Long, Contact> contacts;                  // list order
+    private final Map<String, PersistentTreeMap<Long, Contact>> categories;   // list order per category
+    private final PersistentTreeMap<String, Contact> byPhone;
+    private final PersistentTreeMap<Contact, Contact> sorted;                 // alphabetical order
+    
+    private ContactSnapshot(long version, PersistentTreeMap<Long, Contact> contacts,
+                            Map<String, PersistentTreeMap<Long, Contact>> categories,
+                            PersistentTreeMap<String, Contact> byPhone, PersistentTreeMap<Contact, Contact> sorted) {
+        this.version = version;
+        this.contacts = contacts;
+        this.categories = categories;
+        this.byPhone = byPhone;
+        this.sorted = sorted;
+    }
+    
+    /**
+     * Build a whole snapshot at once - O(n) for the lists plus a sort of the phone numbers
+     * Contact i of ordered gets key i; alphabetical holds the same contacts already in ALPHABETICAL order
+     */
+    static ContactSnapshot of(Contact[] ordered, Contact[] alphabetical) {
+        List<Long> keys = new ArrayList<>(ordered.length);
+        for (long key = 0; key < ordered.length; key++) {
+            keys.add(key);
+        }
+        
+        Contact[] byPhoneOrder = ordered.clone();
+        Arrays.parallelSort(byPhoneOrder, Comparator.comparing(Contact::getPhoneNumber));
+        List<String> phones = new ArrayList<>(byPhoneOrder.length);
+        for (Contact contact : byPhoneOrder) {
+            phones.add(contact.getPhoneNumber());
+        }
+        
+        return new ContactSnapshot(1, PersistentTreeMap.fromSorted(keys, Arrays.asList(ordered)),
+                categoryTrees(keys, Arrays.asList(ordered)), PersistentTreeMap.fromSorted(phones, Arrays.asList(byPhoneOrder)),
+                PersistentTreeMap.fromSorted(Arrays.asList(alphabetical), Arrays.asList(alphabetical), ALPHABETICAL));
+    }
+    
+    /**
+     * Version number - grows with every change
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    public int size() {
+        return contacts.size();
+    }
+    
+    public boolean isEmpty() {
+        return contacts.isEmpty();
+    }
+    
+    /**
+     * All contacts in list order - a read-only view, O(1), nothing is copied
+     */
+    public List<Contact> getContacts() {
+        return contacts.values();
+    }
+    
+    /**
+     * Contacts of one category in list order - a read-only view, O(1)
+     */
+    public List<Contact> getContactsByCategory(String category) {
+        PersistentTreeMap<Long, Contact> inCategory = categories.get(category);
+        return inCategory == null ? Collections.emptyList() : inCategory.values();
+    }
+    
+    /**
+     * All contacts in alphabetical order (the sorted index) - a read-only view, O(1)
+     */
+    public List<Contact> getSortedContacts() {
+        return sorted.values();
+    }
+    
+    public Set<String> getCategories() {
+        return categories.keySet();
+    }
+    
+    /**
+     * Lookup by phone number in this version - O(log n)
+     */
+    public Contact findByPhone(String phone) {
+        return phone == null ? null : byPhone.get(phone);
+    }
+    
+    public boolean containsPhone(String phone) {
+        return findByPhone(phone) != null;
+    }
+    
+    // Trees by key, for keyset paging
+    
+    PersistentTreeMap<Long, Contact> listTree() {
+        return contacts;
+    }
+    
+    PersistentTreeMap<Long, Contact> categoryTree(String category) {
+        return categories.getOrDefault(category, PersistentTreeMap.empty());
+    }
+    
+    // Next versions (built by the writer under PhonebookManager's lock)
+    
+    ContactSnapshot withAdded(long key, Contact contact) {
+        return new ContactSnapshot(version + 1, contacts.put(key, contact),
+                withCategory(contact.getCategory(), tree -> tree.put(key, contact)),
+                byPhone.put(contact.getPhoneNumber(), contact), sorted.put(contact, contact));
+    }
+    
+    ContactSnapshot withRemoved(long key, Contact contact) {
+        return new ContactSnapshot(version + 1, contacts.remove(key),
+                withCategory(contact.getCategory(), tree -> tree.remove(key)),
+                byPhone.remove(contact.getPhoneNumber()), sorted.remove(contact));
+    }
+    
+    ContactSnapshot withReplaced(long key, Contact old, Contact updated) {
+        return new ContactSnapshot(version + 1, contacts.put(key, updated),
+                withCategory(updated.getCategory(), tree -> tree.put(key, updated)),
+                byPhone.remove(old.getPhoneNumber()).put(updated.getPhoneNumber(), updated),
+                sorted.remove(old).put(updated, updated));
+    }
+    
+    /**
+     * Same contacts, main list and category lists rebuilt in a new order with keys
+     * firstKey, firstKey + 1, ... - O(n)
+     */
+    ContactSnapshot withOrder(List<Contact> ordered, long firstKey) {
+        List<Long> keys = new ArrayList<>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            keys.add(firstKey + i);
+        }
+        return new ContactSnapshot(version + 1, PersistentTreeMap.fromSorted(keys, ordered),
+                categoryTrees(keys, ordered), byPhone, sorted);
+    }
+    
+    // One tree per category, each holding its contacts in the given order under the same keys
+    private static Map<String, PersistentTreeMap<Long, Contact>> categoryTrees(List<Long> keys, List<Contact> ordered) {
+        Map<String, List<Long>> categoryKeys = new HashMap<>();
+        Map<String, List<Contact>> categoryContacts = new HashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            Contact contact = ordered.get(i);
+            categoryKeys.computeIfAbsent(contact.getCategory(), k -> new ArrayList<>()).add(keys.get(i));
+            categoryContacts.computeIfAbsent(contact.getCategory(), k -> new ArrayList<>()).add(contact);
+        }
+        
+        Map<String, PersistentTreeMap<Long, Contact>> categories = new HashMap<>();
+        for (Map.Entry<String, List<Contact>> category : categoryContacts.entrySet()) {
+            categories.put(category.getKey(),
+                    PersistentTreeMap.fromSorted(categoryKeys.get(category.getKey()), category.getValue()));
+        }
+        return Collections.unmodifiableMap(categories);
+    }
+    
+    // Copy of the (small) category map with one category's tree replaced
+    private Map<String, PersistentTreeMap<Long, Contact>> withCategory(String category,
+            UnaryOperator<PersistentTreeMap<Long, Contact>> change) {
+        Map<String, PersistentTreeMap<Long, Contact>> copy = new HashMap<>(categories);
+        copy.put(category, change.apply(copy.getOrDefault(category, PersistentTreeMap.empty())));
+        return Collections.unmodifiableMap(copy);
+    }
+}
@@ -0,0 +1,45 @@
+package datastructure;
+
+/**
+ * KeyNormalizer builds the phone number lookup keys used by the phonebook indexes
+ * Every index normalizes phone numbers the same way, so queries and stored keys always agree
+ * (name keys are folded and cached by Contact itself)
+ */
+final class KeyNormalizer {
+    
+    private KeyNormalizer() {
+    }
+    
+    /**
+     * Keep only the digits of a phone number ("+91 98765-43210" -> "919876543210")
+     */
+    static String digitsOf(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            int digit = Character.digit(phone.charAt(i), 10);
+            if (digit >= 0) {
+                sb.append((char) ('0' + digit));
+            }
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * True if the text looks like (part of) a phone number rather than a name
+     */
+    static boolean isPhoneLike(String text) {
+        boolean hasDigit = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isDigit(c)) {
+                hasDigit = true;
+            } else if (c != '+' && c != '-' && c != ' ' && c != '(' && c != ')') {
+                return false;
+            }
+        }
+        return hasDigit;
+    }
+}
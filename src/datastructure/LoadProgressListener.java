@@ -0,0 +1,15 @@
+package datastructure;
+
+/**
+ * Receives progress while PhonebookManager loads the directory at startup
+ * Called on the thread that constructs the manager
+ */
+public interface LoadProgressListener {
+    
+    /**
+     * @param stage what is being done, e.g. "Reading contacts"
+     * @param done  units finished so far
+     * @param total units in this stage
+     */
+    void onProgress(String stage, int done, int total);
+}
@@ -0,0 +1,368 @@
+package datastructure;
+
+import model.Contact;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * NGramIndex provides typo-tolerant (fuzzy) name search
+ * DSA Concept: Inverted Index over trigrams + bounded Edit Distance (Levenshtein)
+ *
+ * The index is built over distinct words (every word of a name, and the full name) rather than
+ * contacts: thousands of contacts share a word like "john", so it is verified once, not once per contact.
+ * Two words within edit distance k share most of their trigrams, so candidates are generated from
+ * the trigram posting lists of words of similar length, and only those few are verified with a
+ * banded edit-distance check. Queries too short for the trigram filter (every trigram may be edited
+ * away) are verified against the words of similar length instead - never the whole directory.
+ *
+ * One writer at a time; the maps and sets are concurrent, so a reader running alongside the
+ * writer sees some mix of old and new entries but never a broken structure (see PhonebookManager).
+ */
+public class NGramIndex {
+    
+    private static final int N = 3;
+    private static final char PAD = '\u0001';
+    private static final Comparator<Contact> BY_NAME = Comparator.comparing(Contact::getNameCollationKey);
+    
+    // Word (or full name) -> contacts whose name contains it
+    private final ConcurrentHashMap<String, Set<Contact>> terms = new ConcurrentHashMap<>();
+    
+    // Inverted index: (trigram, word length) -> words containing it (posting list)
+    // Keyed by length too, so a query only reads the lists of words it could be within reach of
+    private final ConcurrentHashMap<String, Set<String>> postings = new ConcurrentHashMap<>();
+    
+    // Word length -> words of that length, for queries the trigram filter cannot narrow down
+    private final ConcurrentHashMap<Integer, Set<String>> termsByLength = new ConcurrentHashMap<>();
+    
+    public void add(Contact contact) {
+        for (String term : termsOfName(contact.getFoldedName())) {
+            addTerm(term, contact);
+        }
+    }
+    
+    /**
+     * Startup bulk load, in parallel: words of every name are computed across cores, bucketed by
+     * partition in one pass, then each core adds the words of its own bucket (a word is only ever
+     * touched by one core; the trigram lists they share are concurrent sets)
+     */
+    void addAll(Contact[] contacts) {
+        String[][] names = new String[contacts.length][];
+        Arrays.parallelSetAll(names, i -> termsOfName(contacts[i].getFoldedName()).toArray(new String[0]));
+        
+        int total = 0;
+        for (String[] name : names) {
+            total += name.length;
+        }
+        String[] allTerms = new String[total];
+        int[] owners = new int[total];
+        int k = 0;
+        for (int i = 0; i < names.length; i++) {
+            for (String term : names[i]) {
+                allTerms[k] = term;
+                owners[k++] = i;
+            }
+        }
+        
+        int parts = ParallelIndexBuilder.partitionCount();
+        int[][] members = ParallelIndexBuilder.partitionMembers(allTerms, parts);
+        IntStream.range(0, parts).parallel().forEach(p -> {
+            for (int m : members[p]) {
+                addTerm(allTerms[m], contacts[owners[m]]);
+            }
+        });
+    }
+    
+    public void remove(Contact contact) {
+        for (String term : termsOfName(contact.getFoldedName())) {
+            Set<Contact> contacts = terms.get(term);
+            if (contacts != null) {
+                contacts.remove(contact);
+                if (contacts.isEmpty()) {
+                    terms.remove(term);
+                    unindexTerm(term);
+                }
+            }
+        }
+    }
+    
+    public void clear() {
+        terms.clear();
+        postings.clear();
+        termsByLength.clear();
+    }
+    
+    /**
+     * Snapshot: every word as (word, contact ordinals)
+     */
+    void writeTo(DataOutput out, ToIntFunction<Contact> ordinalOf) throws IOException {
+        out.writeInt(terms.size());
+        for (Map.Entry<String, Set<Contact>> term : terms.entrySet()) {
+            out.writeUTF(term.getKey());
+            out.writeInt(term.getValue().size());
+            for (Contact contact : term.getValue()) {
+                out.writeInt(ordinalOf.applyAsInt(contact));
+            }
+        }
+    }
+    
+    /**
+     * Snapshot: restore the words; only the distinct words are split into trigrams again
+     */
+    void readFrom(DataInput in, IntFunction<Contact> contactOf) throws IOException {
+        clear();
+        int count = PhonebookSnapshot.readCount(in, 6);   // word (at least its length) and a contact count
+        for (int t = 0; t < count; t++) {
+            String term = in.readUTF();
+            int size = PhonebookSnapshot.readCount(in, 4);
+            Set<Contact> contacts = ConcurrentHashMap.newKeySet(size);
+            for (int i = 0; i < size; i++) {
+                contacts.add(contactOf.apply(in.readInt()));
+            }
+            terms.put(term, contacts);
+            indexTerm(term);
+        }
+    }
+    
+    /**
+     * Contacts whose name (or one word of it) is within maxDistance edits of the query,
+     * best matches first
+     */
+    public List<Contact> search(String query, int maxDistance, int limit) {
+        String folded = Contact.foldName(query);
+        if (folded.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        
+        // q-gram lemma: within k edits at least (|grams| - k * N) trigrams survive
+        Set<String> queryGrams = grams(folded);
+        int threshold = queryGrams.size() - maxDistance * N;
+        
+        // Length filter: a length gap alone costs that many edits
+        List<Match> matches = new ArrayList<>();
+        for (int length = Math.max(1, folded.length() - maxDistance); length <= folded.length() + maxDistance; length++) {
+            Collection<String> candidates = threshold > 1
+                    ? gramCandidates(queryGrams, length, threshold)
+                    : termsByLength.getOrDefault(length, new HashSet<>());
+            for (String term : candidates) {
+                int distance = boundedEditDistance(folded, term, maxDistance);
+                if (distance <= maxDistance) {
+                    matches.add(new Match(term, distance, sharedGrams(queryGrams, term)));
+                }
+            }
+        }
+        
+        // Rank: fewest edits, then most shared trigrams, then name. Words are taken best first,
+        // so a contact's first matching word is its best one, and the search stops as soon as the
+        // limit is filled
+        matches.sort(Comparator.comparingInt((Match m) -> m.distance).thenComparing(m -> -m.sharedGrams));
+        
+        List<Contact> results = new ArrayList<>();
+        Set<Contact> found = new HashSet<>();
+        int i = 0;
+        while (i < matches.size() && results.size() < limit) {
+            // A band of equally ranked words may hold thousands of contacts (everyone called "john"):
+            // only the first (limit - found) by name are kept, in a bounded max-heap
+            Match first = matches.get(i);
+            int wanted = limit - results.size();
+            PriorityQueue<Contact> band = new PriorityQueue<>(BY_NAME.reversed());
+            Set<Contact> inBand = new HashSet<>();
+            for (; i < matches.size() && matches.get(i).ranksWith(first); i++) {
+                for (Contact contact : terms.get(matches.get(i).term)) {
+                    if (found.contains(contact) || inBand.contains(contact)) {
+                        continue;
+                    }
+                    if (band.size() == wanted) {
+                        if (BY_NAME.compare(contact, band.peek()) >= 0) {
+                            continue;
+                        }
+                        inBand.remove(band.poll());
+                    }
+                    band.add(contact);
+                    inBand.add(contact);
+                }
+            }
+            
+            List<Contact> best = new ArrayList<>(band);
+            best.sort(BY_NAME);
+            results.addAll(best);
+            found.addAll(best);
+        }
+        return results;
+    }
+    
+    /**
+     * Words of the given length sharing at least threshold trigrams with the query
+     * Pigeonhole: such a word must appear in one of the (m - threshold + 1) shortest lists, so only
+     * those are scanned; the longer lists are probed with O(1) lookups to count the remaining hits
+     */
+    private List<String> gramCandidates(Set<String> queryGrams, int length, int threshold) {
+        List<Set<String>> lists = new ArrayList<>();
+        for (String gram : queryGrams) {
+            Set<String> list = postings.get(postingKey(gram, length));
+            lists.add(list != null ? list : new HashSet<>());
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        
+        int scanned = lists.size() - threshold + 1;
+        HashMap<String, Integer> hits = new HashMap<>();
+        for (int i = 0; i < scanned; i++) {
+            for (String term : lists.get(i)) {
+                hits.merge(term, 1, Integer::sum);
+            }
+        }
+        
+        List<String> candidates = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : hits.entrySet()) {
+            int count = entry.getValue();
+            for (int i = scanned; i < lists.size() && count < threshold; i++) {
+                if (lists.get(i).contains(entry.getKey())) {
+                    count++;
+                }
+            }
+            if (count >= threshold) {
+                candidates.add(entry.getKey());
+            }
+        }
+        return candidates;
+    }
+    
+    private static int sharedGrams(Set<String> queryGrams, String term) {
+        int shared = 0;
+        for (String gram : grams(term)) {
+            if (queryGrams.contains(gram)) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+    
+    // Trigrams have a fixed length, so the key cannot be ambiguous
+    private static String postingKey(String gram, int length) {
+        return gram + length;
+    }
+    
+    private void addTerm(String term, Contact contact) {
+        Set<Contact> contacts = terms.get(term);
+        if (contacts == null) {
+            contacts = ConcurrentHashMap.newKeySet();
+            terms.put(term, contacts);
+            indexTerm(term);
+        }
+        contacts.add(contact);
+    }
+    
+    private void indexTerm(String term) {
+        for (String gram : grams(term)) {
+            postings.computeIfAbsent(postingKey(gram, term.length()), g -> ConcurrentHashMap.newKeySet()).add(term);
+        }
+        termsByLength.computeIfAbsent(term.length(), l -> ConcurrentHashMap.newKeySet()).add(term);
+    }
+    
+    private void unindexTerm(String term) {
+        for (String gram : grams(term)) {
+            String key = postingKey(gram, term.length());
+            Set<String> list = postings.get(key);
+            if (list != null) {
+                list.remove(term);
+                if (list.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+        Set<String> sameLength = termsByLength.get(term.length());
+        if (sameLength != null) {
+            sameLength.remove(term);
+            if (sameLength.isEmpty()) {
+                termsByLength.remove(term.length());
+            }
+        }
+    }
+    
+    private static class Match {
+        final String term;
+        final int distance;
+        final int sharedGrams;
+        
+        Match(String term, int distance, int sharedGrams) {
+            this.term = term;
+            this.distance = distance;
+            this.sharedGrams = sharedGrams;
+        }
+        
+        boolean ranksWith(Match other) {
+            return distance == other.distance && sharedGrams == other.sharedGrams;
+        }
+    }
+    
+    /**
+     * Levenshtein distance that gives up once it must exceed maxDistance
+     * DSA Concept: Dynamic Programming (two rows, early termination)
+     * Returns maxDistance + 1 when the strings are further apart than that
+     */
+    static int boundedEditDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = prev;
+            prev = curr;
+            curr = swap;
+        }
+        return Math.min(prev[b.length()], maxDistance + 1);
+    }
+    
+    // The whole name and every word of it, so single-word queries still match
+    private static Set<String> termsOfName(String folded) {
+        Set<String> result = new LinkedHashSet<>();
+        if (!folded.isEmpty()) {
+            result.add(folded);
+        }
+        for (String word : folded.split(" ")) {
+            if (!word.isEmpty()) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+    
+    // Padded trigrams: "ali" -> "..a", ".al", "ali", "li.", "i.."
+    private static Set<String> grams(String text) {
+        StringBuilder padded = new StringBuilder(text.length() + 2 * (N - 1));
+        for (int i = 0; i < N - 1; i++) {
+            padded.append(PAD);
+        }
+        padded.append(text);
+        for (int i = 0; i < N - 1; i++) {
+            padded.append(PAD);
+        }
+        
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + N <= padded.length(); i++) {
+            result.add(padded.substring(i, i + N));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,153 @@
+package datastructure;
+
+import model.Contact;
+import database.DatabaseManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * ParallelIndexBuilder builds the DSA structures at startup on every core
+ * DSA Concept: Pipelining + Fork/Join - chunks are read from SQLite while earlier chunks are
+ * being prepared, then every secondary index is built at the same time, each one itself split
+ * into disjoint partitions
+ *
+ * Everything is built into fresh structures owned by the builder; PhonebookManager publishes
+ * them in one step once the build is complete, so no half-built index is ever visible.
+ */
+final class ParallelIndexBuilder {
+    
+    // Rows per chunk handed from the reader to the workers
+    static final int CHUNK_SIZE = 8192;
+    
+    static final String READING = "Reading contacts";
+    static final String INDEXING = "Building indexes";
+    private static final int INDEX_TASKS = 5;
+    
+    private final Comparator<Contact> sortOrder;
+    private final LoadProgressListener listener;
+    
+    // Results, valid after build()
+    Contact[] contacts = new Contact[0];
+    final PrefixSearchIndex prefixIndex = new PrefixSearchIndex();
+    final PhoneSuffixIndex suffixIndex = new PhoneSuffixIndex();
+    final NGramIndex ngramIndex = new NGramIndex();
+    final PhoneticIndex phoneticIndex = new PhoneticIndex();
+    Contact[] sorted;                              // contacts in sortOrder
+    
+    ParallelIndexBuilder(Comparator<Contact> sortOrder, LoadProgressListener listener) {
+        this.sortOrder = sortOrder;
+        this.listener = listener;
+    }
+    
+    /**
+     * Read every contact and build all indexes
+     * onCallingThread runs while the indexes are being built (the manager fills its lists there)
+     */
+    void build(DatabaseManager dbManager, Runnable onCallingThread) {
+        read(dbManager);
+        
+        Contact[] loaded = contacts;
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        tasks.add(ForkJoinTask.adapt(() -> prefixIndex.addAll(loaded)).fork());
+        tasks.add(ForkJoinTask.adapt(() -> suffixIndex.addAll(loaded)).fork());
+        tasks.add(ForkJoinTask.adapt(() -> ngramIndex.addAll(loaded)).fork());
+        tasks.add(ForkJoinTask.adapt(() -> phoneticIndex.addAll(loaded)).fork());
+        tasks.add(ForkJoinTask.adapt(() -> {
+            Contact[] copy = Arrays.copyOf(loaded, loaded.length);
+            ParallelMergeSort.sort(copy, sortOrder);
+            sorted = copy;
+        }).fork());
+        
+        onCallingThread.run();
+        
+        int done = 0;
+        progress(INDEXING, done, INDEX_TASKS);
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+            progress(INDEXING, ++done, INDEX_TASKS);
+        }
+    }
+    
+    /**
+     * Stage 1: stream rows in chunks; each chunk's name keys (folded name, collation key)
+     * are computed on a worker while the reader carries on with the next chunk
+     */
+    private void read(DatabaseManager dbManager) {
+        int total = dbManager.countContacts();
+        List<Contact[]> chunks = new ArrayList<>();
+        List<ForkJoinTask<?>> keyTasks = new ArrayList<>();
+        int[] read = {0};
+        
+        progress(READING, 0, total);
+        dbManager.loadAllContacts(CHUNK_SIZE, rows -> {
+            Contact[] chunk = rows.toArray(new Contact[0]);
+            chunks.add(chunk);
+            keyTasks.add(ForkJoinTask.adapt(() -> {
+                for (Contact contact : chunk) {
+                    contact.getFoldedName();
+                    contact.getNameCollationKey();
+                }
+            }).fork());
+            read[0] += chunk.length;
+            progress(READING, read[0], Math.max(total, read[0]));
+        });
+        
+        // Joining makes the cached keys visible to every later stage
+        for (ForkJoinTask<?> task : keyTasks) {
+            task.join();
+        }
+        
+        contacts = new Contact[read[0]];
+        int offset = 0;
+        for (Contact[] chunk : chunks) {
+            System.arraycopy(chunk, 0, contacts, offset, chunk.length);
+            offset += chunk.length;
+        }
+    }
+    
+    private void progress(String stage, int done, int total) {
+        if (listener != null) {
+            listener.onProgress(stage, done, total);
+        }
+    }
+    
+    /**
+     * Number of disjoint partitions an index build is split into - one per worker
+     */
+    static int partitionCount() {
+        return ForkJoinPool.commonPool().getParallelism();
+    }
+    
+    /**
+     * Partition of a hashed key (every occurrence of a key lands in the same partition)
+     */
+    static int partitionOf(String key, int parts) {
+        return (key.hashCode() & 0x7fffffff) % parts;
+    }
+    
+    /**
+     * Positions of the keys in each partition, in key order - one pass over the keys, so every
+     * partition's task only reads its own share
+     */
+    static int[][] partitionMembers(String[] keys, int parts) {
+        int[] partOf = new int[keys.length];
+        int[] counts = new int[parts];
+        for (int i = 0; i < keys.length; i++) {
+            partOf[i] = partitionOf(keys[i], parts);
+            counts[partOf[i]]++;
+        }
+        int[][] members = new int[parts][];
+        for (int p = 0; p < parts; p++) {
+            members[p] = new int[counts[p]];
+            counts[p] = 0;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            members[partOf[i]][counts[partOf[i]]++] = i;
+        }
+        return members;
+    }
+}
@@ -0,0 +1,201 @@
+package datastructure;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel Merge Sort using the Fork/Join framework
+ * DSA Concept: Divide and Conquer - O(n log n) work, halves are sorted on different cores
+ *
+ * Stable, so equal keys keep their previous relative order.
+ */
+public final class ParallelMergeSort {
+    
+    // Below this size a range is sorted sequentially - forking costs more than it saves
+    private static final int SEQUENTIAL_THRESHOLD = 8192;
+    
+    // Below this size insertion sort beats merging
+    private static final int INSERTION_THRESHOLD = 32;
+    
+    private ParallelMergeSort() {
+    }
+    
+    public static <T> void sort(T[] items, Comparator<? super T> comparator) {
+        if (items.length < 2) {
+            return;
+        }
+        T[] buffer = Arrays.copyOf(items, items.length);
+        ForkJoinPool.commonPool().invoke(new SortTask<>(items, buffer, 0, items.length, comparator));
+    }
+    
+    /**
+     * Sort a copy of the items in parallel and load them into a TreeSet with the same order
+     */
+    public static <T> TreeSet<T> sortedSet(T[] items, Comparator<T> comparator) {
+        T[] sorted = Arrays.copyOf(items, items.length);
+        sort(sorted, comparator);
+        return presortedSet(sorted, comparator);
+    }
+    
+    /**
+     * A TreeSet holding items already in comparator order, built in O(n) without a single comparison
+     */
+    public static <T> TreeSet<T> presortedSet(T[] sorted, Comparator<T> comparator) {
+        TreeSet<T> set = new TreeSet<>(comparator);
+        // TreeSet.addAll takes the linear buildFromSorted path for a SortedSet with an equal comparator
+        set.addAll(new PresortedView<>(Arrays.asList(sorted), comparator));
+        return set;
+    }
+    
+    public static int parallelism() {
+        return ForkJoinPool.commonPool().getParallelism();
+    }
+    
+    @SuppressWarnings("serial")   // fork/join tasks are never serialized
+    private static class SortTask<T> extends RecursiveAction {
+        private final T[] items;
+        private final T[] buffer;
+        private final int from;
+        private final int to;
+        private final Comparator<? super T> comparator;
+        
+        SortTask(T[] items, T[] buffer, int from, int to, Comparator<? super T> comparator) {
+            this.items = items;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                mergeSort(items, buffer, from, to, comparator);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SortTask<>(items, buffer, from, mid, comparator),
+                      new SortTask<>(items, buffer, mid, to, comparator));
+            merge(items, buffer, from, mid, to, comparator);
+        }
+    }
+    
+    private static <T> void mergeSort(T[] items, T[] buffer, int from, int to, Comparator<? super T> comparator) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            insertionSort(items, from, to, comparator);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(items, buffer, from, mid, comparator);
+        mergeSort(items, buffer, mid, to, comparator);
+        merge(items, buffer, from, mid, to, comparator);
+    }
+    
+    // Merge the sorted runs [from, mid) and [mid, to)
+    private static <T> void merge(T[] items, T[] buffer, int from, int mid, int to, Comparator<? super T> comparator) {
+        if (comparator.compare(items[mid - 1], items[mid]) <= 0) {
+            return; // already in order
+        }
+        System.arraycopy(items, from, buffer, from, to - from);
+        int left = from, right = mid, out = from;
+        while (left < mid && right < to) {
+            items[out++] = comparator.compare(buffer[right], buffer[left]) < 0 ? buffer[right++] : buffer[left++];
+        }
+        while (left < mid) {
+            items[out++] = buffer[left++];
+        }
+        while (right < to) {
+            items[out++] = buffer[right++];
+        }
+    }
+    
+    private static <T> void insertionSort(T[] items, int from, int to, Comparator<? super T> comparator) {
+        for (int i = from + 1; i < to; i++) {
+            T current = items[i];
+            int j = i - 1;
+            while (j >= from && comparator.compare(items[j], current) > 0) {
+                items[j + 1] = items[j];
+                j--;
+            }
+            items[j + 1] = current;
+        }
+    }
+    
+    /**
+     * Read-only sorted view over a list that is already in comparator order
+     * Range views are sub-lists found by binary search
+     */
+    private static final class PresortedView<T> extends AbstractSet<T> implements SortedSet<T> {
+        private final List<T> ordered;
+        private final Comparator<T> comparator;
+        
+        PresortedView(List<T> ordered, Comparator<T> comparator) {
+            this.ordered = ordered;
+            this.comparator = comparator;
+        }
+        
+        @Override
+        public Iterator<T> iterator() {
+            return Collections.unmodifiableList(ordered).iterator();
+        }
+        
+        @Override
+        public int size() {
+            return ordered.size();
+        }
+        
+        @Override
+        public Comparator<? super T> comparator() {
+            return comparator;
+        }
+        
+        @Override
+        public SortedSet<T> subSet(T from, T to) {
+            if (comparator.compare(from, to) > 0) {
+                throw new IllegalArgumentException("Range start is after its end");
+            }
+            return new PresortedView<>(ordered.subList(positionOf(from), positionOf(to)), comparator);
+        }
+        
+        @Override
+        public SortedSet<T> headSet(T to) {
+            return new PresortedView<>(ordered.subList(0, positionOf(to)), comparator);
+        }
+        
+        @Override
+        public SortedSet<T> tailSet(T from) {
+            return new PresortedView<>(ordered.subList(positionOf(from), ordered.size()), comparator);
+        }
+        
+        @Override
+        public T first() {
+            if (ordered.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return ordered.get(0);
+        }
+        
+        @Override
+        public T last() {
+            if (ordered.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return ordered.get(ordered.size() - 1);
+        }
+        
+        // Index of the first element not less than the given one
+        private int positionOf(T element) {
+            int index = Collections.binarySearch(ordered, element, comparator);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package datastructure;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiPredicate;
+
+/**
+ * PersistentTreeMap is an immutable sorted map - put and remove return a new map
+ * DSA Concept: Persistent AVL Tree with path copying - an update copies only the O(log n) nodes
+ * on the path to the changed key and shares every other node with the previous version,
+ * so older versions stay valid (and unchanged) for as long as someone reads them
+ *
+ * Every node also knows the size of its subtree, so values can be read by position in O(log n)
+ * and values() is a List view that needs no copying.
+ */
+public final class PersistentTreeMap<K, V> {
+    
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int height;
+        final int size;
+        
+        Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(heightOf(left), heightOf(right));
+            this.size = 1 + sizeOf(left) + sizeOf(right);
+        }
+    }
+    
+    private final Comparator<? super K> comparator;
+    private final Node<K, V> root;
+    
+    private PersistentTreeMap(Comparator<? super K> comparator, Node<K, V> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+    
+    public static <K extends Comparable<? super K>, V> PersistentTreeMap<K, V> empty() {
+        return empty(Comparator.naturalOrder());
+    }
+    
+    public static <K, V> PersistentTreeMap<K, V> empty(Comparator<? super K> comparator) {
+        return new PersistentTreeMap<>(comparator, null);
+    }
+    
+    /**
+     * Balanced map from keys already in ascending order - O(n), no comparisons
+     */
+    public static <K extends Comparable<? super K>, V> PersistentTreeMap<K, V> fromSorted(List<K> keys, List<V> values) {
+        return fromSorted(keys, values, Comparator.naturalOrder());
+    }
+    
+    /**
+     * As above, for keys already in the given comparator's order
+     */
+    public static <K, V> PersistentTreeMap<K, V> fromSorted(List<K> keys, List<V> values, Comparator<? super K> comparator) {
+        return new PersistentTreeMap<>(comparator, build(keys, values, 0, keys.size()));
+    }
+    
+    // Middle element as root, halves as subtrees: heights differ by at most one, so the result is a valid AVL tree
+    private static <K, V> Node<K, V> build(List<K> keys, List<V> values, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        return new Node<>(keys.get(mid), values.get(mid), build(keys, values, from, mid), build(keys, values, mid + 1, to));
+    }
+    
+    public V get(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(key, node.key);
+            if (cmp == 0) {
+                return node.value;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+    
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+    
+    /**
+     * New map with key -> value added (or replaced); this map is unchanged
+     */
+    public PersistentTreeMap<K, V> put(K key, V value) {
+        return new PersistentTreeMap<>(comparator, put(root, key, value));
+    }
+    
+    /**
+     * New map without key; returns this map when the key is absent
+     */
+    public PersistentTreeMap<K, V> remove(K key) {
+        Node<K, V> newRoot = remove(root, key);
+        return newRoot == root ? this : new PersistentTreeMap<>(comparator, newRoot);
+    }
+    
+    public int size() {
+        return sizeOf(root);
+    }
+    
+    public boolean isEmpty() {
+        return root == null;
+    }
+    
+    /**
+     * Value at the given position in key order - O(log n) using the subtree sizes
+     */
+    public V valueAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node<K, V> node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+    
+    /**
+     * The values in key order as a read-only List - O(1), nothing is copied
+     */
+    public List<V> values() {
+        return new AbstractList<V>() {
+            @Override
+            public V get(int index) {
+                return valueAt(index);
+            }
+            
+            @Override
+            public int size() {
+                return PersistentTreeMap.this.size();
+            }
+            
+            @Override
+            public Iterator<V> iterator() {
+                return new InOrderIterator<>(root);
+            }
+        };
+    }
+    
+    /**
+     * Visit the entries with keys strictly greater than after (every entry when after is null) in key
+     * order, until the visitor returns false - O(log n + entries visited)
+     */
+    public void forEachAfter(K after, BiPredicate<? super K, ? super V> visitor) {
+        visitAfter(root, after, visitor);
+    }
+    
+    // Returns false once the visitor has asked to stop
+    private boolean visitAfter(Node<K, V> node, K after, BiPredicate<? super K, ? super V> visitor) {
+        if (node == null) {
+            return true;
+        }
+        if (after == null || comparator.compare(node.key, after) > 0) {
+            if (!visitAfter(node.left, after, visitor) || !visitor.test(node.key, node.value)) {
+                return false;
+            }
+        }
+        return visitAfter(node.right, after, visitor);
+    }
+    
+    private Node<K, V> put(Node<K, V> node, K key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null);
+        }
+        int cmp = comparator.compare(key, node.key);
+        if (cmp < 0) {
+            return balance(node.key, node.value, put(node.left, key, value), node.right);
+        }
+        if (cmp > 0) {
+            return balance(node.key, node.value, node.left, put(node.right, key, value));
+        }
+        return new Node<>(key, value, node.left, node.right);
+    }
+    
+    private Node<K, V> remove(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(key, node.key);
+        if (cmp < 0) {
+            Node<K, V> left = remove(node.left, key);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (cmp > 0) {
+            Node<K, V> right = remove(node.right, key);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        // Two children: the in-order successor takes this node's place
+        Node<K, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.key, successor.value, node.left, removeFirst(node.right));
+    }
+    
+    private static <K, V> Node<K, V> removeFirst(Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.key, node.value, removeFirst(node.left), node.right);
+    }
+    
+    // New node over left and right, rotated if their heights differ by more than one
+    private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        int leftHeight = heightOf(left);
+        int rightHeight = heightOf(right);
+        
+        if (leftHeight > rightHeight + 1) {
+            if (heightOf(left.left) >= heightOf(left.right)) {
+                // Single right rotation
+                return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+            }
+            // Left-right double rotation
+            Node<K, V> pivot = left.right;
+            return new Node<>(pivot.key, pivot.value,
+                    new Node<>(left.key, left.value, left.left, pivot.left),
+                    new Node<>(key, value, pivot.right, right));
+        }
+        
+        if (rightHeight > leftHeight + 1) {
+            if (heightOf(right.right) >= heightOf(right.left)) {
+                // Single left rotation
+                return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+            }
+            // Right-left double rotation
+            Node<K, V> pivot = right.left;
+            return new Node<>(pivot.key, pivot.value,
+                    new Node<>(key, value, left, pivot.left),
+                    new Node<>(right.key, right.value, pivot.right, right.right));
+        }
+        
+        return new Node<>(key, value, left, right);
+    }
+    
+    private static int heightOf(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+    
+    private static int sizeOf(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+    
+    /**
+     * In-order traversal with an explicit stack - O(1) amortized per value
+     */
+    private static final class InOrderIterator<K, V> implements Iterator<V> {
+        private final ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+        
+        InOrderIterator(Node<K, V> root) {
+            pushLeft(root);
+        }
+        
+        private void pushLeft(Node<K, V> node) {
+            for (; node != null; node = node.left) {
+                stack.push(node);
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+        
+        @Override
+        public V next() {
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<K, V> node = stack.pop();
+            pushLeft(node.right);
+            return node.value;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package datastructure;
+
+import model.Contact;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * PhoneSuffixIndex answers "which numbers end with these digits?"
+ * DSA Concept: Reversed-key Trie - a suffix query becomes a prefix query on the reversed digits,
+ * so lookups cost O(digits + matches) instead of scanning every phone number
+ */
+public class PhoneSuffixIndex {
+    
+    private final Trie<Contact> reversedDigits = new Trie<>();
+    
+    public void add(Contact contact) {
+        reversedDigits.insert(reversedKey(contact.getPhoneNumber()), contact);
+    }
+    
+    /**
+     * Startup bulk load (trie built in parallel)
+     */
+    void addAll(Contact[] contacts) {
+        List<String> keys = new ArrayList<>(contacts.length);
+        for (Contact contact : contacts) {
+            keys.add(reversedKey(contact.getPhoneNumber()));
+        }
+        reversedDigits.insertAll(keys, Arrays.asList(contacts));
+    }
+    
+    public void remove(Contact contact) {
+        reversedDigits.remove(reversedKey(contact.getPhoneNumber()), contact);
+    }
+    
+    /**
+     * All contacts whose phone number ends with the given digits
+     */
+    public List<Contact> endingWith(String lastDigits) {
+        return endingWith(lastDigits, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Up to limit contacts whose phone number ends with the given digits
+     * The trie walk stops as soon as limit matches are found
+     */
+    public List<Contact> endingWith(String lastDigits, int limit) {
+        String key = reversedKey(lastDigits);
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return reversedDigits.startingWith(key, limit);
+    }
+    
+    public void clear() {
+        reversedDigits.clear();
+    }
+    
+    void writeTo(DataOutput out, ToIntFunction<Contact> ordinalOf) throws IOException {
+        reversedDigits.writeTo(out, ordinalOf);
+    }
+    
+    void readFrom(DataInput in, IntFunction<Contact> contactOf) throws IOException {
+        reversedDigits.readFrom(in, contactOf);
+    }
+    
+    private static String reversedKey(String phone) {
+        return new StringBuilder(KeyNormalizer.digitsOf(phone)).reverse().toString();
+    }
+}
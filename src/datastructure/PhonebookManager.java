@@ -1,61 +1,269 @@
 package datastructure;
 
 import model.Contact;
+import database.BatchResult;
+import database.ContactFilter;
+import database.ContactPage;
+import database.ContactSink;
 import database.DatabaseManager;
+import database.DurabilityPolicy;
+import database.PageKey;
+import database.ReaderPool;
+import database.ResultOrder;
+import database.StorageProfile;
+import database.WriteBehindQueue;
+import database.WriteFailureListener;
+import database.WriteOperation;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.CollationKey;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 /**
  * PhonebookManager handles all phonebook operations
  * Enhanced with database persistence while maintaining DSA logic
- * ALL operations use DSA structures - database only for persistence
+ * In IN_MEMORY mode ALL operations use DSA structures - database only for persistence;
+ * in DATABASE mode nothing is loaded and queries run as indexed SQL
+ *
+ * Thread-safe: every change (structures + database write) happens under one write lock and then
+ * publishes a new immutable ContactSnapshot; list, category, phone and sorted-order reads use the
+ * published snapshot without any lock. The search indexes are changed in place, so they are read
+ * optimistically: a read that overlapped a write is detected and retried under the read lock.
+ * Every change is also reported to ContactChangeListeners, so views can update incrementally.
  */
 public class PhonebookManager {
     
-    // Main contact list - Linear Data Structure
-    private LinkedList<Contact> contacts;
+    // Contact list, category lists and phone lookup as persistent trees (MVCC): the writer derives
+    // the next version under the write lock, readers use the last published one
+    private ContactSnapshot working = ContactSnapshot.EMPTY;
+    private volatile ContactSnapshot published = ContactSnapshot.EMPTY;
     
-    // HashMap for duplicate detection - Hashing
-    private HashSet<String> phoneNumbers;
+    // Next sequence number for list / category keys
+    private long nextKey;
     
-    // Maps for categorization - Multiple Lists
-    private HashMap<String, LinkedList<Contact>> categorizedContacts;
+    // Primary index: phone number -> slot (contact + its sequence keys) - Hashing (O(1) lookup)
+    private HashMap<String, ContactSlot> phoneIndex;
+    
+    // Duplicate detection - a live key view over the primary index
+    private Set<String> phoneNumbers;
+    
+    // Name index: folded name -> contacts with that name - Multimap (names are not unique)
+    private ConcurrentHashMap<String, LinkedList<Contact>> nameIndex;
+    
+    // Typeahead index over names and phone numbers - Trie
+    private PrefixSearchIndex prefixIndex;
+    
+    // Partial-number lookup by last digits - Reversed Trie
+    private PhoneSuffixIndex suffixIndex;
+    
+    // Typo-tolerant name search - Trigram Inverted Index
+    private NGramIndex ngramIndex;
+    
+    // "Sounds like" name search - Hashing on Soundex keys
+    private PhoneticIndex phoneticIndex;
     
     // Database manager for persistence
     private DatabaseManager dbManager;
     
+    // Read-only connections for streaming reads, one per running stream (never block the writer under WAL)
+    private ReaderPool readerPool;
+    
+    // Optional write-behind persistence - null means every change is written synchronously
+    private volatile WriteBehindQueue writeBehind;
+    
+    // Where contacts live - see StorageMode
+    private final StorageMode storageMode;
+    
+    // Order of paged listings (and DATABASE mode listings) - set by the sort features
+    private volatile ResultOrder listOrder = ResultOrder.INSERTION;
+    
+    // Binary cold-start snapshot of the DSA structures, written on close (IN_MEMORY mode)
+    private final Path snapshotFile;
+    
+    // Set when memory and database disagree (a write failed) - such state must not be snapshotted
+    private volatile boolean storeDiverged;
+    
+    // Guards every DSA structure above - writers lock exclusively, index readers validate an optimistic stamp
+    private final StampedLock lock = new StampedLock();
+    
+    // Change feed: changes made under the write lock are delivered after it is released;
+    // the dispatch lock is taken before releasing it, so listeners see changes in write order
+    private final List<ContactChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final List<ContactChange> pendingChanges = new ArrayList<>();
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+    
     // Valid categories
     private final String[] VALID_CATEGORIES = {"Family", "Friends", "Work"};
     
+    // Alphabetical order: name collation key, then phone number for duplicate names
+    private static final Comparator<Contact> ALPHABETICAL = ContactSnapshot.ALPHABETICAL;
+    
     // Constructor
     public PhonebookManager() {
-        contacts = new LinkedList<>();
-        phoneNumbers = new HashSet<>();
-        categorizedContacts = new HashMap<>();
+        this(DatabaseManager.DEFAULT_DB_PATH, StorageProfile.BALANCED);
+    }
+    
+    /**
+     * Phonebook backed by the database file at dbPath, opened with the given storage profile
+     */
+    public PhonebookManager(String dbPath, StorageProfile profile) {
+        this(dbPath, profile, StorageMode.IN_MEMORY);
+    }
+    
+    /**
+     * Phonebook backed by the database file at dbPath; DATABASE mode keeps contacts on disk only
+     */
+    public PhonebookManager(String dbPath, StorageProfile profile, StorageMode storageMode) {
+        this(dbPath, profile, storageMode, null);
+    }
+    
+    /**
+     * As above, reporting startup load progress to the listener (may be null)
+     */
+    public PhonebookManager(String dbPath, StorageProfile profile, StorageMode storageMode,
+                            LoadProgressListener progress) {
+        this.storageMode = storageMode;
+        phoneIndex = new HashMap<>();
+        phoneNumbers = Collections.unmodifiableSet(phoneIndex.keySet());
+        nameIndex = new ConcurrentHashMap<>();
+        prefixIndex = new PrefixSearchIndex();
+        suffixIndex = new PhoneSuffixIndex();
+        ngramIndex = new NGramIndex();
+        phoneticIndex = new PhoneticIndex();
+        // Initialize database
+        dbManager = new DatabaseManager(dbPath, profile);
+        readerPool = new ReaderPool(dbManager);
+        snapshotFile = Paths.get(dbPath + ".snapshot");
         
-        // Initialize category lists
-        for (String category : VALID_CATEGORIES) {
-            categorizedContacts.put(category, new LinkedList<>());
+        // Load existing contacts - from the snapshot when it is current, otherwise from the database
+        if (storageMode == StorageMode.IN_MEMORY) {
+            if (!loadSnapshot(progress)) {
+                loadContactsFromDatabase(progress);
+            }
+        } else {
+            System.out.println("✅ Database mode: " + dbManager.countContacts() + " contacts stay on disk");
         }
+    }
+    
+    /**
+     * Load contacts from database into DSA structures
+     * Called on startup: rows are read in chunks and the indexes are built on every core
+     * (see ParallelIndexBuilder), then everything is published together
+     */
+    private void loadContactsFromDatabase(LoadProgressListener progress) {
+        ParallelIndexBuilder builder = new ParallelIndexBuilder(ALPHABETICAL, progress);
         
-        // Initialize database
-        dbManager = new DatabaseManager();
+        HashMap<String, ContactSlot> phones = new HashMap<>();
+        ConcurrentHashMap<String, LinkedList<Contact>> names = new ConcurrentHashMap<>();
+        
+        // Slots and name index are built here while the workers build the other indexes
+        builder.build(dbManager, () -> {
+            Contact[] loaded = builder.contacts;
+            for (int i = 0; i < loaded.length; i++) {
+                Contact contact = loaded[i];
+                phones.put(contact.getPhoneNumber(), new ContactSlot(contact, i));
+                names.computeIfAbsent(contact.getFoldedName(), k -> new LinkedList<>()).add(contact);
+            }
+        });
         
-        // Load existing contacts from database
-        loadContactsFromDatabase();
+        // Publish
+        working = ContactSnapshot.of(builder.contacts, builder.sorted);
+        published = working;
+        nextKey = builder.contacts.length;
+        phoneIndex = phones;
+        phoneNumbers = Collections.unmodifiableSet(phoneIndex.keySet());
+        nameIndex = names;
+        prefixIndex = builder.prefixIndex;
+        suffixIndex = builder.suffixIndex;
+        ngramIndex = builder.ngramIndex;
+        phoneticIndex = builder.phoneticIndex;
     }
     
     /**
-     * Load contacts from database into DSA structures
-     * Called on startup
+     * Restore the DSA structures from the snapshot file, if it matches the database
+     * DSA Concept: Deserialization - lists and tries are rebuilt in stored order, nothing is re-sorted or re-hashed per key
+     * Returns false (structures left empty) when there is no usable snapshot
      */
-    private void loadContactsFromDatabase() {
-        List<Contact> loadedContacts = dbManager.loadAllContacts();
+    private boolean loadSnapshot(LoadProgressListener progress) {
+        if (!Files.exists(snapshotFile)) {
+            return false;
+        }
+        String contentVersion = dbManager.getContentVersion();
+        if (contentVersion == null) {
+            return false;
+        }
         
-        for (Contact contact : loadedContacts) {
-            // Add to DSA structures (without database sync)
-            contacts.add(contact);
-            phoneNumbers.add(contact.getPhoneNumber());
-            categorizedContacts.get(contact.getCategory()).add(contact);
+        try {
+            PhonebookSnapshot snapshot = PhonebookSnapshot.read(snapshotFile, contentVersion);
+            if (snapshot == null) {
+                System.out.println("⚠️ Snapshot is out of date - loading contacts from the database");
+                return false;
+            }
+            restoreSnapshot(snapshot);
+            if (progress != null) {
+                progress.onProgress("Reading snapshot", 1, 1);
+            }
+            System.out.println("✅ Loaded " + working.size() + " contacts from snapshot");
+            return true;
+        } catch (IOException e) {
+            // Nothing was restored yet - the snapshot is read into its own structures first
+            System.out.println("⚠️ Snapshot could not be read - loading contacts from the database");
+            return false;
+        }
+    }
+    
+    private void restoreSnapshot(PhonebookSnapshot snapshot) {
+        prefixIndex = snapshot.prefixIndex;
+        suffixIndex = snapshot.suffixIndex;
+        ngramIndex = snapshot.ngramIndex;
+        phoneticIndex = snapshot.phoneticIndex;
+        
+        listOrder = snapshot.listOrder;
+        Contact[] ordered = snapshot.contacts;
+        for (int i = 0; i < ordered.length; i++) {
+            phoneIndex.put(ordered[i].getPhoneNumber(), new ContactSlot(ordered[i], i));
+        }
+        nextKey = ordered.length;
+        working = ContactSnapshot.of(ordered, snapshot.sorted);
+        published = working;
+        
+        for (Map.Entry<String, Contact[]> sameName : snapshot.nameLists.entrySet()) {
+            nameIndex.put(sameName.getKey(), new LinkedList<>(Arrays.asList(sameName.getValue())));
+        }
+    }
+    
+    /**
+     * Write the DSA structures to the snapshot file, stamped with the database content version
+     */
+    private void saveSnapshot() {
+        String contentVersion = dbManager.getContentVersion();
+        if (contentVersion == null) {
+            deleteSnapshot();
+            return;
+        }
+        try {
+            PhonebookSnapshot.write(snapshotFile, contentVersion, listOrder, working, nameIndex,
+                    prefixIndex, suffixIndex, ngramIndex, phoneticIndex);
+        } catch (IOException | RuntimeException e) {
+            // Never stops the close: the database connections are still to be closed after this
+            System.err.println("⚠️ Could not write snapshot file: " + e);
+            deleteSnapshot();
+        }
+    }
+    
+    private void deleteSnapshot() {
+        try {
+            Files.deleteIfExists(snapshotFile);
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not delete snapshot file: " + e.getMessage());
         }
     }
     
@@ -64,8 +272,17 @@ public class PhonebookManager {
      * DSA logic first, then database persistence
      */
     public boolean addContact(Contact contact) {
+        long stamp = lock.writeLock();
+        try {
+            return addContactLocked(contact);
+        } finally {
+            publishAndUnlock(stamp);
+        }
+    }
+    
+    private boolean addContactLocked(Contact contact) {
         // Duplicate detection using HashSet (DSA)
-        if (phoneNumbers.contains(contact.getPhoneNumber())) {
+        if (containsPhone(contact.getPhoneNumber())) {
             System.out.println("❌ Error: Contact with this phone number already exists!");
             return false;
         }
@@ -76,76 +293,384 @@ public class PhonebookManager {
             return false;
         }
         
+        if (isDatabaseMode()) {
+            boolean stored = dbManager.insertContact(contact);
+            System.out.println(stored ? "✅ Contact added successfully!" : "❌ Failed to save to database!");
+            if (stored) {
+                recordChange(ContactChange.added(contact));
+            }
+            return stored;
+        }
+        
         // Insert into DSA structures
-        contacts.add(contact);
-        phoneNumbers.add(contact.getPhoneNumber());
-        categorizedContacts.get(contact.getCategory()).add(contact);
+        insertIntoStructures(contact);
+        
+        if (writeBehind != null) {
+            writeBehind.submit(WriteOperation.insert(contact));
+            recordChange(ContactChange.added(contact));
+            System.out.println("✅ Contact added successfully!");
+            return true;
+        }
         
         // Persist to database
         boolean dbSuccess = dbManager.insertContact(contact);
         
         if (dbSuccess) {
+            recordChange(ContactChange.added(contact));
             System.out.println("✅ Contact added successfully!");
             return true;
         } else {
             // Rollback DSA changes if database fails
-            contacts.remove(contact);
-            phoneNumbers.remove(contact.getPhoneNumber());
-            categorizedContacts.get(contact.getCategory()).remove(contact);
+            removeFromStructures(contact);
             System.out.println("❌ Failed to save to database!");
             return false;
         }
     }
     
+    /**
+     * Bulk add: validate in memory, persist in one batched transaction,
+     * then insert the rows the database accepted into the DSA structures
+     * Duplicates (already stored or repeated within the batch) and invalid categories are rejected
+     *
+     * The transaction runs without the lock, so readers and other writers are not held up for the
+     * length of a whole import batch; the lock is only taken to apply the stored rows and publish.
+     */
+    public BatchResult addContacts(List<Contact> newContacts) {
+        List<Contact> accepted = new ArrayList<>();
+        List<Contact> rejected = new ArrayList<>();
+        HashSet<String> batchPhones = new HashSet<>();
+        ContactSnapshot current = published;
+        
+        for (Contact contact : newContacts) {
+            // DATABASE mode leaves already-stored numbers to the UNIQUE constraint
+            if ((!isDatabaseMode() && current.containsPhone(contact.getPhoneNumber()))
+                    || !batchPhones.add(contact.getPhoneNumber())
+                    || !isValidCategory(contact.getCategory())) {
+                rejected.add(contact);
+            } else {
+                accepted.add(contact);
+            }
+        }
+        
+        // Queued writes must reach the database first so the batch sees them
+        awaitQueuedWrites();
+        BatchResult dbResult = dbManager.insertContacts(accepted);
+        rejected.addAll(dbResult.getRejected());
+        
+        List<Contact> inserted = new ArrayList<>();
+        long stamp = lock.writeLock();
+        try {
+            for (Contact contact : dbResult.getInserted()) {
+                if (isDatabaseMode()) {
+                    inserted.add(contact);
+                } else if (phoneNumbers.contains(contact.getPhoneNumber())) {
+                    // Added by another writer while the batch was being stored: memory keeps that one
+                    storeDiverged = true;
+                    rejected.add(contact);
+                    System.out.println("⚠️ " + contact.getPhoneNumber() + " was added meanwhile - the database copy may differ");
+                } else {
+                    insertIntoStructures(contact);
+                    inserted.add(contact);
+                }
+            }
+            if (!inserted.isEmpty()) {
+                recordChange(ContactChange.reset());
+            }
+        } finally {
+            publishAndUnlock(stamp);
+        }
+        
+        BatchResult result = new BatchResult(inserted, rejected);
+        System.out.println("✅ Bulk add finished - " + result);
+        return result;
+    }
+    
     /**
      * Feature 2: Display All Contacts
      * DSA Concept: Traversal
      */
     public void displayAllContacts() {
-        if (contacts.isEmpty()) {
+        if (isDatabaseMode()) {
+            displayFromDatabase(ContactFilter.ALL, listOrder, "📭 No contacts found!",
+                    "\n📖 ========== ALL CONTACTS ==========");
+            return;
+        }
+        
+        List<Contact> all = published.getContacts();
+        if (all.isEmpty()) {
             System.out.println("📭 No contacts found!");
             return;
         }
         
         System.out.println("\n📖 ========== ALL CONTACTS ==========");
         int count = 1;
-        for (Contact contact : contacts) {
+        for (Contact contact : all) {
             System.out.println("Contact #" + count++);
             System.out.println(contact);
             System.out.println("-----------------------------------");
         }
     }
     
+    /**
+     * Keyset pagination: up to limit contacts after the cursor, in the current list order
+     * Pass null to start at the first page and the returned page's next key to continue;
+     * category = null lists every category. Cost depends on the page size, not the directory size,
+     * and concurrent inserts / deletes never make a page skip or repeat a contact
+     */
+    public ContactPage page(PageKey after, int limit, String category) {
+        return page(after, limit, category, listOrder);
+    }
+    
+    /**
+     * Keyset pagination in an explicit order (the cursor must come from the same order)
+     * DATABASE mode reads pages from the database's indexes. IN_MEMORY mode keeps its contacts in one
+     * order - the list order the sort features set - and reads pages from the published version of the
+     * list: no lock, no database, no wait for queued writes
+     */
+    public ContactPage page(PageKey after, int limit, String category, ResultOrder order) {
+        if (isDatabaseMode()) {
+            return dbManager.page(after, limit, category, order);
+        }
+        if (order != listOrder) {
+            throw new IllegalArgumentException("Contacts are listed in " + listOrder + " order, not " + order);
+        }
+        return memoryPage(after, limit, category, order);
+    }
+    
+    /**
+     * IN_MEMORY keyset page - O(log n + page size)
+     * The cursor is the list key of the last contact: contacts added later get higher keys and deleted
+     * ones leave no gap, so nothing is skipped or repeated. A sort re-keys the whole list, so a cursor
+     * from before it starts again at the top. A category is paged through its own list, which is in
+     * list order under the same keys
+     */
+    private ContactPage memoryPage(PageKey after, int limit, String category, ResultOrder order) {
+        if (after != null && after.getOrder() != order) {
+            throw new IllegalArgumentException("Page cursor belongs to order " + after.getOrder() + ", not " + order);
+        }
+        ContactSnapshot current = published;
+        PersistentTreeMap<Long, Contact> tree = category != null ? current.categoryTree(category) : current.listTree();
+        
+        int size = Math.max(1, limit);
+        List<Contact> contacts = new ArrayList<>(size);
+        long[] lastKey = new long[1];
+        boolean[] more = new boolean[1];
+        tree.forEachAfter(after == null ? null : after.getListKey(), (key, contact) -> {
+            if (contacts.size() == size) {
+                more[0] = true;   // one extra contact tells whether another page follows
+                return false;
+            }
+            contacts.add(contact);
+            lastKey[0] = key;
+            return true;
+        });
+        return new ContactPage(contacts, more[0] ? PageKey.ofListKey(order, lastKey[0]) : null);
+    }
+    
+    public ResultOrder getListOrder() {
+        return listOrder;
+    }
+    
     /**
      * Get all contacts as list (for UI)
+     * IN_MEMORY mode: a read-only view of the current version - O(1), nothing is copied
      */
     public List<Contact> getAllContacts() {
-        return new ArrayList<>(contacts);
+        if (isDatabaseMode()) {
+            return dbManager.findContacts(ContactFilter.ALL, listOrder);
+        }
+        return published.getContacts();
+    }
+    
+    /**
+     * The current version of the phonebook - O(1), no locks, no copying
+     * A snapshot never changes: later changes publish new versions, so every read
+     * through one snapshot sees the same point in time
+     */
+    public ContactSnapshot snapshot() {
+        if (isDatabaseMode()) {
+            throw new IllegalStateException("Snapshots need IN_MEMORY storage mode");
+        }
+        return published;
     }
     
     /**
      * Feature 3: Search Contact by Name or Phone Number
-     * DSA Concept: Linear Search
+     * DSA Concept: Hash Lookup (name index and phone index)
+     * Returns the first contact with this name (in insertion order)
      */
     public Contact searchByName(String name) {
-        for (Contact contact : contacts) {
-            if (contact.getName().equalsIgnoreCase(name)) {
-                return contact;
-            }
+        if (isDatabaseMode()) {
+            List<Contact> matches = dbManager.findByName(name);
+            return matches.isEmpty() ? null : matches.get(0);
+        }
+        String key = Contact.foldName(name);
+        return readOptimistically(() -> {
+            LinkedList<Contact> matches = nameIndex.get(key);
+            return matches == null ? null : matches.getFirst();
+        });
+    }
+    
+    /**
+     * Search every contact with this name (case-insensitive) - O(1) + k
+     */
+    public List<Contact> searchAllByName(String name) {
+        if (isDatabaseMode()) {
+            return dbManager.findByName(name);
         }
-        return null;
+        String key = Contact.foldName(name);
+        return readOptimistically(() -> findAllByName(key));
     }
     
+    // Caller holds the lock, or validates an optimistic stamp afterwards
+    private List<Contact> findAllByName(String foldedName) {
+        LinkedList<Contact> matches = nameIndex.get(foldedName);
+        return matches == null ? new ArrayList<>() : new ArrayList<>(matches);
+    }
+    
+    /**
+     * Search by phone number using the primary index - O(1)
+     */
     public Contact searchByPhone(String phone) {
-        for (Contact contact : contacts) {
-            if (contact.getPhoneNumber().equals(phone)) {
-                return contact;
-            }
+        if (isDatabaseMode()) {
+            return dbManager.findByPhone(phone);
+        }
+        return published.findByPhone(phone);
+    }
+    
+    // Caller holds the lock
+    private Contact findByPhone(String phone) {
+        ContactSlot slot = phoneIndex.get(phone);
+        return slot == null ? null : slot.contact;
+    }
+    
+    /**
+     * Fuzzy (typo-tolerant) name search, best matches first
+     * DSA Concept: Trigram Inverted Index + bounded Edit Distance
+     * Short names tolerate 1 typo, longer names 2
+     */
+    public List<Contact> fuzzySearchByName(String name, int limit) {
+        if (isDatabaseMode()) {
+            System.out.println("⚠️ Fuzzy search needs the in-memory trigram index (not available in database mode)");
+            return new ArrayList<>();
+        }
+        int maxDistance = Contact.foldName(name).length() <= 4 ? 1 : 2;
+        return readOptimistically(() -> ngramIndex.search(name, maxDistance, limit));
+    }
+    
+    public void displayFuzzySearchResults(String name) {
+        List<Contact> results = fuzzySearchByName(name, 10);
+        
+        if (results.isEmpty()) {
+            System.out.println("❌ No similar names found!");
+            return;
+        }
+        
+        System.out.println("\n🔍 Did you mean:");
+        for (Contact contact : results) {
+            System.out.println("  • " + contact.getName() + " - " + contact.getPhoneNumber());
+        }
+    }
+    
+    /**
+     * Phonetic ("sounds like") name search, e.g. Muhammad finds Mohammed
+     * DSA Concept: Hash lookup on precomputed Soundex keys
+     */
+    public List<Contact> searchSoundsLike(String name, int limit) {
+        if (isDatabaseMode()) {
+            System.out.println("⚠️ Sounds-like search needs the in-memory phonetic index (not available in database mode)");
+            return new ArrayList<>();
+        }
+        return readOptimistically(() -> phoneticIndex.search(name, limit));
+    }
+    
+    public void displaySoundsLikeResults(String name) {
+        List<Contact> results = searchSoundsLike(name, 10);
+        
+        if (results.isEmpty()) {
+            System.out.println("❌ No names sound like " + name + "!");
+            return;
+        }
+        
+        System.out.println("\n🔊 Names that sound like " + name + ":");
+        for (Contact contact : results) {
+            System.out.println("  • " + contact.getName() + " - " + contact.getPhoneNumber());
+        }
+    }
+    
+    /**
+     * Ranked full-text search across name and email, e.g. "asad tims"
+     * Every word must match the start of a word in the name or email; name hits rank higher
+     * Runs on the database's FTS5 index in both storage modes
+     */
+    public List<Contact> fullTextSearch(String query, int limit) {
+        // The FTS index only sees what has reached the database
+        awaitQueuedWrites();
+        return toLive(dbManager.fullTextSearch(query, limit));
+    }
+    
+    public void displayFullTextResults(String query) {
+        List<Contact> results = fullTextSearch(query, 20);
+        
+        if (results.isEmpty()) {
+            System.out.println("❌ Nothing matches " + query + "!");
+            return;
+        }
+        
+        System.out.println("\n🔎 Best matches for " + query + ":");
+        for (Contact contact : results) {
+            System.out.println("  • " + contact.getName() + " - " + contact.getPhoneNumber()
+                               + (contact.getEmail() == null || contact.getEmail().isEmpty() ? "" : " - " + contact.getEmail()));
+        }
+    }
+    
+    /**
+     * Reverse partial-number lookup: every contact whose number ends with the given digits
+     * DSA Concept: Reversed-digit Trie
+     */
+    public List<Contact> searchByPhoneSuffix(String lastDigits) {
+        return searchByPhoneSuffix(lastDigits, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Up to limit contacts whose number ends with the given digits - the search stops
+     * once it has found them instead of collecting every match
+     */
+    public List<Contact> searchByPhoneSuffix(String lastDigits, int limit) {
+        if (isDatabaseMode()) {
+            return dbManager.findByPhoneSuffix(lastDigits, limit);
+        }
+        return readOptimistically(() -> suffixIndex.endingWith(lastDigits, limit));
+    }
+    
+    public void displaySuffixSearchResults(String lastDigits) {
+        List<Contact> results = searchByPhoneSuffix(lastDigits);
+        
+        if (results.isEmpty()) {
+            System.out.println("❌ No phone number ends with " + lastDigits + "!");
+            return;
+        }
+        
+        System.out.println("\n🔍 " + results.size() + " Contact(s) ending with " + lastDigits + ":");
+        for (Contact contact : results) {
+            System.out.println("  • " + contact.getName() + " - " + contact.getPhoneNumber());
         }
-        return null;
     }
     
     public void displaySearchResults(String searchTerm, boolean isPhone) {
+        if (!isPhone) {
+            List<Contact> results = searchAllByName(searchTerm);
+            if (results.size() > 1) {
+                System.out.println("\n🔍 " + results.size() + " Contacts Found:");
+                int count = 1;
+                for (Contact contact : results) {
+                    System.out.println("Match #" + count++);
+                    System.out.println(contact);
+                }
+                return;
+            }
+        }
+        
         Contact result = isPhone ? searchByPhone(searchTerm) : searchByName(searchTerm);
         
         if (result != null) {
@@ -156,44 +681,86 @@ public class PhonebookManager {
         }
     }
     
+    /**
+     * Typeahead: top-k contacts whose name or phone number starts with the typed text
+     * DSA Concept: Trie prefix search
+     */
+    public List<Contact> suggest(String prefix, int limit) {
+        if (isDatabaseMode()) {
+            // Index range scans: start of the full name, or the number as stored
+            if (prefix == null || prefix.trim().isEmpty() || limit <= 0) {
+                return new ArrayList<>();
+            }
+            return KeyNormalizer.isPhoneLike(prefix)
+                    ? dbManager.findByPhonePrefix(prefix.trim(), limit)
+                    : dbManager.findByNamePrefix(prefix.trim(), limit);
+        }
+        return readOptimistically(() -> prefixIndex.suggest(prefix, limit));
+    }
+    
     /**
      * Feature 4: Update Existing Contact
      * DSA logic first, then database sync
      */
     public boolean updateContact(String searchTerm, boolean isPhone, String newPhone, String newEmail) {
-        Contact contact = isPhone ? searchByPhone(searchTerm) : searchByName(searchTerm);
+        long stamp = lock.writeLock();
+        try {
+            return updateContactLocked(searchTerm, isPhone, newPhone, newEmail);
+        } finally {
+            publishAndUnlock(stamp);
+        }
+    }
+    
+    private boolean updateContactLocked(String searchTerm, boolean isPhone, String newPhone, String newEmail) {
+        Contact contact = findSingleContact(searchTerm, isPhone);
         
         if (contact == null) {
-            System.out.println("❌ Contact not found!");
             return false;
         }
         
         String oldPhone = contact.getPhoneNumber();
         
+        // Contacts are immutable - the update is a new contact that takes the old one's place
+        Contact updated = contact;
+        
         // Check if new phone number already exists (for another contact)
-        if (newPhone != null && !newPhone.equals(contact.getPhoneNumber())) {
-            if (phoneNumbers.contains(newPhone)) {
+        if (newPhone != null && !newPhone.equals(oldPhone)) {
+            if (containsPhone(newPhone)) {
                 System.out.println("❌ Error: New phone number already exists!");
                 return false;
             }
-            
-            // Update DSA structures
-            phoneNumbers.remove(contact.getPhoneNumber());
-            contact.setPhoneNumber(newPhone);
-            phoneNumbers.add(newPhone);
+            updated = updated.withPhoneNumber(newPhone);
         }
-        
         if (newEmail != null) {
-            contact.setEmail(newEmail);
+            updated = updated.withEmail(newEmail);
+        }
+        
+        if (isDatabaseMode()) {
+            if (!updateInDatabase(oldPhone, updated)) {
+                return false;
+            }
+            recordChange(ContactChange.updated(contact, updated));
+            return true;
+        }
+        
+        // Update DSA structures - re-key every index (list positions stay the same)
+        replaceInStructures(contact, updated);
+        recordChange(ContactChange.updated(contact, updated));
+        
+        if (writeBehind != null) {
+            writeBehind.submit(WriteOperation.update(oldPhone, updated));
+            System.out.println("✅ Contact updated successfully!");
+            return true;
         }
         
         // Sync to database
-        boolean dbSuccess = dbManager.updateContact(oldPhone, contact);
+        boolean dbSuccess = dbManager.updateContact(oldPhone, updated);
         
         if (dbSuccess) {
             System.out.println("✅ Contact updated successfully!");
             return true;
         } else {
+            storeDiverged = true;
             System.out.println("⚠️ Contact updated in memory but database sync failed!");
             return true; // Still return true as DSA update succeeded
         }
@@ -204,19 +771,41 @@ public class PhonebookManager {
      * DSA deletion first, then database sync
      */
     public boolean deleteContact(String searchTerm, boolean isPhone) {
-        Contact contact = isPhone ? searchByPhone(searchTerm) : searchByName(searchTerm);
+        long stamp = lock.writeLock();
+        try {
+            return deleteContactLocked(searchTerm, isPhone);
+        } finally {
+            publishAndUnlock(stamp);
+        }
+    }
+    
+    private boolean deleteContactLocked(String searchTerm, boolean isPhone) {
+        Contact contact = findSingleContact(searchTerm, isPhone);
         
         if (contact == null) {
-            System.out.println("❌ Contact not found!");
             return false;
         }
         
         String phoneToDelete = contact.getPhoneNumber();
         
+        if (isDatabaseMode()) {
+            boolean deleted = dbManager.deleteContact(phoneToDelete);
+            System.out.println(deleted ? "✅ Contact deleted successfully!" : "❌ Failed to delete from database!");
+            if (deleted) {
+                recordChange(ContactChange.removed(contact));
+            }
+            return deleted;
+        }
+        
         // Remove from DSA structures
-        contacts.remove(contact);
-        phoneNumbers.remove(contact.getPhoneNumber());
-        categorizedContacts.get(contact.getCategory()).remove(contact);
+        removeFromStructures(contact);
+        recordChange(ContactChange.removed(contact));
+        
+        if (writeBehind != null) {
+            writeBehind.submit(WriteOperation.delete(phoneToDelete));
+            System.out.println("✅ Contact deleted successfully!");
+            return true;
+        }
         
         // Sync to database
         boolean dbSuccess = dbManager.deleteContact(phoneToDelete);
@@ -225,28 +814,87 @@ public class PhonebookManager {
             System.out.println("✅ Contact deleted successfully!");
             return true;
         } else {
+            storeDiverged = true;
             System.out.println("⚠️ Contact deleted from memory but database sync failed!");
             return true;
         }
     }
     
+    /**
+     * All contacts in alphabetical order, read straight from the sorted index
+     * DSA Concept: In-order view of a balanced BST - IN_MEMORY mode returns a read-only view of
+     * the published version, O(1), no lock and no comparisons
+     */
+    public List<Contact> getSortedContacts() {
+        if (isDatabaseMode()) {
+            return dbManager.findContacts(ContactFilter.ALL, ResultOrder.NAME);
+        }
+        return published.getSortedContacts();
+    }
+    
+    /**
+     * Feature 6: Sort Contacts Alphabetically using the maintained sorted index
+     * The index is already in order, so the list is simply rebuilt from it - O(n)
+     */
+    public void sortContactsUsingIndex() {
+        long stamp = lock.writeLock();
+        try {
+            sortContactsUsingIndexLocked();
+            recordChange(ContactChange.reset());
+        } finally {
+            publishAndUnlock(stamp);
+        }
+    }
+    
+    private void sortContactsUsingIndexLocked() {
+        if (isDatabaseMode()) {
+            sortInDatabase(ResultOrder.NAME, "Name");
+            return;
+        }
+        
+        if (working.isEmpty()) {
+            System.out.println("📭 No contacts to sort!");
+            return;
+        }
+        
+        rebuildOrder(working.getSortedContacts());
+        listOrder = ResultOrder.NAME;
+        
+        System.out.println("✅ Contacts sorted alphabetically using the Sorted Index (AVL Tree)!");
+    }
+    
     /**
      * Feature 6: Sort Contacts Alphabetically
      * DSA Concept: Sorting - Bubble Sort
      */
     public void sortContactsBubbleSort() {
-        if (contacts.isEmpty()) {
+        long stamp = lock.writeLock();
+        try {
+            sortContactsBubbleSortLocked();
+            recordChange(ContactChange.reset());
+        } finally {
+            publishAndUnlock(stamp);
+        }
+    }
+    
+    private void sortContactsBubbleSortLocked() {
+        if (isDatabaseMode()) {
+            sortInDatabase(ResultOrder.NAME, "Name");
+            return;
+        }
+        
+        if (working.isEmpty()) {
             System.out.println("📭 No contacts to sort!");
             return;
         }
         
-        List<Contact> contactList = new ArrayList<>(contacts);
+        List<Contact> contactList = new ArrayList<>(working.getContacts());
         int n = contactList.size();
         
         // Bubble Sort Algorithm
         for (int i = 0; i < n - 1; i++) {
             for (int j = 0; j < n - i - 1; j++) {
-                if (contactList.get(j).getName().compareToIgnoreCase(contactList.get(j + 1).getName()) > 0) {
+                if (contactList.get(j).getNameCollationKey().compareTo(contactList.get(j + 1).getNameCollationKey()) > 0) {
                     Contact temp = contactList.get(j);
                     contactList.set(j, contactList.get(j + 1));
                     contactList.set(j + 1, temp);
@@ -254,8 +902,8 @@ public class PhonebookManager {
             }
         }
         
-        contacts.clear();
-        contacts.addAll(contactList);
+        rebuildOrder(contactList);
+        listOrder = ResultOrder.NAME;
         
         System.out.println("✅ Contacts sorted alphabetically using Bubble Sort!");
     }
@@ -264,19 +912,34 @@ public class PhonebookManager {
      * Selection Sort implementation
      */
     public void sortContactsSelectionSort() {
-        if (contacts.isEmpty()) {
+        long stamp = lock.writeLock();
+        try {
+            sortContactsSelectionSortLocked();
+            recordChange(ContactChange.reset());
+        } finally {
+            publishAndUnlock(stamp);
+        }
+    }
+    
+    private void sortContactsSelectionSortLocked() {
+        if (isDatabaseMode()) {
+            sortInDatabase(ResultOrder.NAME, "Name");
+            return;
+        }
+        
+        if (working.isEmpty()) {
             System.out.println("📭 No contacts to sort!");
             return;
         }
         
-        List<Contact> contactList = new ArrayList<>(contacts);
+        List<Contact> contactList = new ArrayList<>(working.getContacts());
         int n = contactList.size();
         
         // Selection Sort Algorithm
         for (int i = 0; i < n - 1; i++) {
             int minIdx = i;
             for (int j = i + 1; j < n; j++) {
-                if (contactList.get(j).getName().compareToIgnoreCase(contactList.get(minIdx).getName()) < 0) {
+                if (contactList.get(j).getNameCollationKey().compareTo(contactList.get(minIdx).getNameCollationKey()) < 0) {
                     minIdx = j;
                 }
             }
@@ -285,16 +948,106 @@ public class PhonebookManager {
             contactList.set(i, temp);
         }
         
-        contacts.clear();
-        contacts.addAll(contactList);
+        rebuildOrder(contactList);
+        listOrder = ResultOrder.NAME;
         
         System.out.println("✅ Contacts sorted alphabetically using Selection Sort!");
     }
     
+    /**
+     * Feature 6: Sort Contacts by any ordering using Parallel Merge Sort
+     * DSA Concept: Divide and Conquer (Fork/Join) over an array snapshot - O(n log n)
+     * Each contact's collation keys are computed once up front, so comparisons never re-fold strings
+     * Returns the elapsed time in milliseconds
+     */
+    public long sortContactsParallel(ContactOrder order) {
+        long stamp = lock.writeLock();
+        try {
+            long elapsedMs = sortContactsParallelLocked(order);
+            recordChange(ContactChange.reset());
+            return elapsedMs;
+        } finally {
+            publishAndUnlock(stamp);
+        }
+    }
+    
+    private long sortContactsParallelLocked(ContactOrder order) {
+        if (isDatabaseMode()) {
+            sortInDatabase(order.toResultOrder(), order.toString());
+            return 0;
+        }
+        
+        if (working.isEmpty()) {
+            System.out.println("📭 No contacts to sort!");
+            return 0;
+        }
+        
+        long start = System.nanoTime();
+        
+        // Snapshot + precompute keys (in parallel; name keys are already cached on each contact)
+        Contact[] snapshot = working.getContacts().toArray(new Contact[0]);
+        SortEntry[] entries = new SortEntry[snapshot.length];
+        Arrays.parallelSetAll(entries, i -> new SortEntry(snapshot[i], order.sortKeys(snapshot[i])));
+        long keysBuilt = System.nanoTime();
+        
+        ParallelMergeSort.sort(entries, SortEntry::compareTo);
+        long sorted = System.nanoTime();
+        
+        List<Contact> ordered = new ArrayList<>(entries.length);
+        for (SortEntry entry : entries) {
+            ordered.add(entry.contact);
+        }
+        rebuildOrder(ordered);
+        listOrder = order.toResultOrder();
+        long end = System.nanoTime();
+        
+        System.out.println("✅ Sorted " + snapshot.length + " contacts by " + order
+                           + " using Parallel Merge Sort (" + ParallelMergeSort.parallelism() + " threads)");
+        System.out.println("   ⏱️ keys: " + (keysBuilt - start) / 1_000_000 + " ms"
+                           + ", sort: " + (sorted - keysBuilt) / 1_000_000 + " ms"
+                           + ", total: " + (end - start) / 1_000_000 + " ms");
+        return (end - start) / 1_000_000;
+    }
+    
+    /**
+     * A contact paired with its precomputed collation keys
+     */
+    private static class SortEntry implements Comparable<SortEntry> {
+        final Contact contact;
+        final CollationKey[] keys;
+        
+        SortEntry(Contact contact, CollationKey[] keys) {
+            this.contact = contact;
+            this.keys = keys;
+        }
+        
+        @Override
+        public int compareTo(SortEntry other) {
+            for (int i = 0; i < keys.length && i < other.keys.length; i++) {
+                int cmp = keys[i].compareTo(other.keys[i]);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return Integer.compare(keys.length, other.keys.length);
+        }
+    }
+    
     /**
      * Feature 7: Duplicate Detection using HashSet
      */
     public boolean isDuplicate(String phoneNumber) {
+        if (isDatabaseMode()) {
+            return containsPhone(phoneNumber);
+        }
+        return published.containsPhone(phoneNumber);
+    }
+    
+    // Caller holds the lock
+    private boolean containsPhone(String phoneNumber) {
+        if (isDatabaseMode()) {
+            return dbManager.findByPhone(phoneNumber) != null;
+        }
         return phoneNumbers.contains(phoneNumber);
     }
     
@@ -307,7 +1060,14 @@ public class PhonebookManager {
             return;
         }
         
-        LinkedList<Contact> categoryList = categorizedContacts.get(category);
+        if (isDatabaseMode()) {
+            displayFromDatabase(new ContactFilter(category, null, null), ResultOrder.INSERTION,
+                    "📭 No contacts in " + category + " category!",
+                    "\n📂 ========== " + category.toUpperCase() + " CONTACTS ==========");
+            return;
+        }
+        
+        List<Contact> categoryList = published.getContactsByCategory(category);
         
         if (categoryList.isEmpty()) {
             System.out.println("📭 No contacts in " + category + " category!");
@@ -325,18 +1085,26 @@ public class PhonebookManager {
     
     /**
      * Get contacts by category (for UI)
+     * IN_MEMORY mode: a read-only view of the current version - O(1), nothing is copied
      */
     public List<Contact> getContactsByCategory(String category) {
         if (!isValidCategory(category)) {
             return new ArrayList<>();
         }
-        return new ArrayList<>(categorizedContacts.get(category));
+        if (isDatabaseMode()) {
+            return dbManager.findContacts(new ContactFilter(category, null, null), ResultOrder.INSERTION);
+        }
+        return published.getContactsByCategory(category);
     }
     
     public void displayAllCategories() {
+        // One version for every category, so the counts add up even while others write
+        ContactSnapshot current = isDatabaseMode() ? null : published;
+        
         System.out.println("\n📂 ========== CONTACTS BY CATEGORY ==========");
         for (String category : VALID_CATEGORIES) {
-            LinkedList<Contact> categoryList = categorizedContacts.get(category);
+            List<Contact> categoryList = current == null
+                    ? getContactsByCategory(category) : current.getContactsByCategory(category);
             System.out.println("\n" + category + " (" + categoryList.size() + " contacts):");
             
             if (!categoryList.isEmpty()) {
@@ -350,6 +1118,160 @@ public class PhonebookManager {
     }
     
     // Helper methods
+    
+    /**
+     * Insert a contact into every DSA structure and index
+     */
+    private void insertIntoStructures(Contact contact) {
+        ContactSlot slot = new ContactSlot(contact, nextKey++);
+        phoneIndex.put(contact.getPhoneNumber(), slot);
+        working = working.withAdded(slot.key, contact);
+        addToIndexes(contact);
+    }
+    
+    /**
+     * Remove a contact from every DSA structure and index - O(log n) tree removals via its slot key
+     */
+    private void removeFromStructures(Contact contact) {
+        ContactSlot slot = phoneIndex.remove(contact.getPhoneNumber());
+        if (slot != null) {
+            working = working.withRemoved(slot.key, slot.contact);
+        }
+        removeFromIndexes(contact);
+    }
+    
+    /**
+     * Put the updated copy of a contact in its place - same list positions, every index re-keyed
+     */
+    private void replaceInStructures(Contact old, Contact updated) {
+        ContactSlot slot = phoneIndex.remove(old.getPhoneNumber());
+        removeFromIndexes(old);
+        slot.contact = updated;
+        phoneIndex.put(updated.getPhoneNumber(), slot);
+        working = working.withReplaced(slot.key, old, updated);
+        addToIndexes(updated);
+    }
+    
+    /**
+     * Rewrite the main list in the given order (used by the sort features)
+     * Category lists follow - each is re-keyed in the same order
+     */
+    private void rebuildOrder(Iterable<Contact> ordered) {
+        List<Contact> list = new ArrayList<>(working.size());
+        long firstKey = nextKey;
+        for (Contact contact : ordered) {
+            phoneIndex.get(contact.getPhoneNumber()).key = nextKey++;
+            list.add(contact);
+        }
+        working = working.withOrder(list, firstKey);
+    }
+    
+    /**
+     * End of every write: make the writer's current version visible to readers, release the
+     * write lock, then deliver the changes it made
+     */
+    private void publishAndUnlock(long stamp) {
+        published = working;
+        if (pendingChanges.isEmpty()) {
+            lock.unlockWrite(stamp);
+            return;
+        }
+        
+        List<ContactChange> changes = Collections.unmodifiableList(new ArrayList<>(pendingChanges));
+        pendingChanges.clear();
+        dispatchLock.lock();
+        lock.unlockWrite(stamp);
+        try {
+            for (ContactChangeListener listener : changeListeners) {
+                try {
+                    listener.onChange(changes);
+                } catch (RuntimeException e) {
+                    System.err.println("⚠️ Change listener failed: " + e);
+                }
+            }
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+    
+    // Caller holds the write lock; nothing is collected while nobody listens
+    private void recordChange(ContactChange change) {
+        if (!changeListeners.isEmpty()) {
+            pendingChanges.add(change);
+        }
+    }
+    
+    /**
+     * Add a contact to the secondary lookup indexes (name, prefix, suffix, fuzzy, phonetic)
+     * The sorted index is part of the snapshot and changes with it
+     */
+    private void addToIndexes(Contact contact) {
+        nameIndex.computeIfAbsent(contact.getFoldedName(), k -> new LinkedList<>()).add(contact);
+        prefixIndex.add(contact);
+        suffixIndex.add(contact);
+        ngramIndex.add(contact);
+        phoneticIndex.add(contact);
+    }
+    
+    /**
+     * Remove a contact from the secondary lookup indexes.
+     * Must run BEFORE the contact's phone number or name is changed.
+     */
+    private void removeFromIndexes(Contact contact) {
+        prefixIndex.remove(contact);
+        suffixIndex.remove(contact);
+        ngramIndex.remove(contact);
+        phoneticIndex.remove(contact);
+        
+        String nameKey = contact.getFoldedName();
+        LinkedList<Contact> sameName = nameIndex.get(nameKey);
+        if (sameName != null) {
+            sameName.remove(contact);
+            if (sameName.isEmpty()) {
+                nameIndex.remove(nameKey);
+            }
+        }
+    }
+    
+    /**
+     * Everything the manager knows about one stored contact:
+     * the contact and its key in the main list tree and its category tree
+     */
+    private static final class ContactSlot {
+        Contact contact;
+        long key;
+        
+        ContactSlot(Contact contact, long key) {
+            this.contact = contact;
+            this.key = key;
+        }
+    }
+    
+    /**
+     * Resolve the contact targeted by update/delete.
+     * Name lookups must be unambiguous - duplicate names have to be addressed by phone number.
+     */
+    private Contact findSingleContact(String searchTerm, boolean isPhone) {
+        if (isPhone) {
+            Contact contact = isDatabaseMode() ? dbManager.findByPhone(searchTerm) : findByPhone(searchTerm);
+            if (contact == null) {
+                System.out.println("❌ Contact not found!");
+            }
+            return contact;
+        }
+        
+        List<Contact> matches = isDatabaseMode() ? dbManager.findByName(searchTerm) : findAllByName(Contact.foldName(searchTerm));
+        if (matches.isEmpty()) {
+            System.out.println("❌ Contact not found!");
+            return null;
+        }
+        if (matches.size() > 1) {
+            System.out.println("❌ " + matches.size() + " contacts share this name. Please use the phone number instead.");
+            return null;
+        }
+        return matches.get(0);
+    }
+    
     private boolean isValidCategory(String category) {
         for (String validCategory : VALID_CATEGORIES) {
             if (validCategory.equalsIgnoreCase(category)) {
@@ -360,17 +1282,252 @@ public class PhonebookManager {
     }
     
     public int getTotalContacts() {
-        return contacts.size();
+        return isDatabaseMode() ? dbManager.countContacts() : published.size();
+    }
+    
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+    
+    private boolean isDatabaseMode() {
+        return storageMode == StorageMode.DATABASE;
+    }
+    
+    /**
+     * Index reads: the indexes are changed in place by writers, so a read runs without the lock
+     * and is kept only if no writer took the lock meanwhile. A read that overlapped a write may
+     * have seen a half-made change - it is thrown away (even if it failed) and retried under the
+     * read lock. Readers never block each other or a writer unless they have to retry
+     */
+    private <T> T readOptimistically(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;   // a real failure, not a torn read
+                }
+            }
+        }
+        return readLocked(reader);
+    }
+    
+    // Retry path of readOptimistically: the structures cannot change while the read lock is held
+    private <T> T readLocked(Supplier<T> reader) {
+        long stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    /**
+     * Map database rows to the live in-memory contacts (DATABASE mode: the rows themselves)
+     * Rows the published version does not hold are dropped
+     */
+    private List<Contact> toLive(List<Contact> rows) {
+        if (isDatabaseMode()) {
+            return rows;
+        }
+        ContactSnapshot current = published;
+        List<Contact> live = new ArrayList<>(rows.size());
+        for (Contact row : rows) {
+            Contact contact = current.findByPhone(row.getPhoneNumber());
+            if (contact != null) {
+                live.add(contact);
+            }
+        }
+        return live;
+    }
+    
+    /**
+     * DATABASE mode update: write the updated contact over the row stored under oldPhone
+     */
+    private boolean updateInDatabase(String oldPhone, Contact contact) {
+        boolean updated = dbManager.updateContact(oldPhone, contact);
+        System.out.println(updated ? "✅ Contact updated successfully!" : "❌ Failed to update contact in database!");
+        return updated;
+    }
+    
+    /**
+     * DATABASE mode sort: nothing to rearrange in memory - later listings simply ask SQLite
+     * for this order (served by the name index for alphabetical order)
+     */
+    private void sortInDatabase(ResultOrder order, String label) {
+        listOrder = order;
+        System.out.println("✅ Contacts will be listed by " + label + " (ORDER BY in SQLite)");
+    }
+    
+    /**
+     * DATABASE mode listing: print rows straight off the cursor, nothing is collected
+     */
+    private void displayFromDatabase(ContactFilter filter, ResultOrder order, String emptyMessage, String header) {
+        int[] count = {0};
+        try {
+            dbManager.streamContacts(filter, order, contact -> {
+                if (count[0] == 0) {
+                    System.out.println(header);
+                }
+                System.out.println("Contact #" + ++count[0]);
+                System.out.println(contact);
+                System.out.println("-----------------------------------");
+            });
+        } catch (IOException e) {
+            System.out.println("❌ Error reading contacts from database!");
+        }
+        if (count[0] == 0) {
+            System.out.println(emptyMessage);
+        }
     }
     
     public String[] getValidCategories() {
         return VALID_CATEGORIES;
     }
     
+    /**
+     * Stream stored contacts straight from the database cursor (used for export)
+     * The DSA structures are not copied, so this works for directories of any size;
+     * every stream reads on its own connection, so a slow sink only ever holds up itself
+     */
+    public long streamContacts(ContactFilter filter, ContactSink sink) throws IOException {
+        awaitQueuedWrites();
+        return readerPool.streamContacts(filter, sink);
+    }
+    
+    /**
+     * Stream stored contacts, waiting no longer than the timeout for a free connection
+     * (at most ReaderPool.DEFAULT_MAX_READERS streams read at once)
+     */
+    public long streamContacts(ContactFilter filter, long timeout, TimeUnit unit, ContactSink sink) throws IOException {
+        awaitQueuedWrites();
+        return readerPool.streamContacts(filter, timeout, unit, sink);
+    }
+    
+    /**
+     * Subscribe to the change feed: every successful add, update and delete is reported as it happens,
+     * sorts and bulk adds as RESET
+     */
+    public void addChangeListener(ContactChangeListener listener) {
+        changeListeners.add(listener);
+    }
+    
+    public void removeChangeListener(ContactChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+    
+    /**
+     * Switch to write-behind persistence: add / update / delete change memory immediately
+     * and queue the database write; a background writer commits queued writes in groups
+     * according to the policy. Failed writes are printed as they happen
+     */
+    public void enableWriteBehind(DurabilityPolicy policy) {
+        enableWriteBehind(policy, failed -> {
+            for (WriteOperation operation : failed) {
+                System.err.println("⚠️ Background database write failed: " + operation);
+            }
+        });
+    }
+    
+    /**
+     * Write-behind persistence with a custom failure listener (called on the writer thread)
+     */
+    public void enableWriteBehind(DurabilityPolicy policy, WriteFailureListener listener) {
+        if (isDatabaseMode()) {
+            // Reads go straight to SQLite, so they must never miss a queued write
+            System.out.println("❌ Write-behind persistence needs IN_MEMORY storage mode");
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            closeWriteBehind();
+            writeBehind = new WriteBehindQueue(dbManager, policy, failed -> {
+                storeDiverged = true;
+                if (listener != null) {
+                    listener.onWriteFailed(failed);
+                }
+            });
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        System.out.println("✅ Write-behind persistence enabled (" + policy + ")");
+    }
+    
+    /**
+     * Go back to synchronous writes after persisting everything queued so far
+     * Returns the queued writes that failed
+     */
+    public List<WriteOperation> disableWriteBehind() {
+        long stamp = lock.writeLock();
+        try {
+            return closeWriteBehind();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    // Caller holds the write lock
+    private List<WriteOperation> closeWriteBehind() {
+        if (writeBehind == null) {
+            return new ArrayList<>();
+        }
+        List<WriteOperation> failed = writeBehind.close();
+        writeBehind = null;
+        return failed;
+    }
+    
+    public boolean isWriteBehindEnabled() {
+        return writeBehind != null;
+    }
+    
+    /**
+     * Durability barrier: block until every change made so far is in the database
+     * Returns the queued writes that failed since the previous flush (always empty in synchronous mode)
+     */
+    public List<WriteOperation> flush() {
+        WriteBehindQueue queue = writeBehind;
+        if (queue == null) {
+            return new ArrayList<>();
+        }
+        return queue.flush();
+    }
+    
+    // Read barrier: wait until queued writes reach the database, leaving their failures to flush()
+    private void awaitQueuedWrites() {
+        WriteBehindQueue queue = writeBehind;
+        if (queue != null) {
+            queue.awaitWritten();
+        }
+    }
+    
     /**
      * Close database connection (call on application exit)
+     * Queued writes are flushed first; in IN_MEMORY mode the structures are then snapshotted
+     * for the next start, unless a write failed and memory no longer matches the database
      */
     public void closeDatabase() {
+        long stamp = lock.writeLock();
+        try {
+            closeDatabaseLocked();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    private void closeDatabaseLocked() {
+        List<WriteOperation> failed = closeWriteBehind();
+        if (!isDatabaseMode()) {
+            if (failed.isEmpty() && !storeDiverged) {
+                saveSnapshot();
+            } else {
+                deleteSnapshot();
+            }
+        }
+        readerPool.close();
         dbManager.closeConnection();
     }
 }
\ No newline at end of file
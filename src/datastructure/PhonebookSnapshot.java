@@ -0,0 +1,295 @@
+package datastructure;
+
+import model.Contact;
+import database.ResultOrder;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * PhonebookSnapshot is the binary cold-start file written next to the database on close
+ * DSA Concept: Serialization - every contact is written once, every structure refers to contacts by ordinal
+ *
+ * Layout (big-endian):
+ *   header    magic, format version, collation id, database content version, list order
+ *   contacts  count, then name / phone / email / category of each, in main-list order
+ *   lists     name index and sorted index as ordinals (category lists follow the main list)
+ *   indexes   prefix tries, suffix trie, fuzzy-search words, Soundex codes
+ *
+ * The file is read through a memory-mapped buffer and only trusted when its content version
+ * matches the database's change counter - otherwise the caller loads from SQL instead.
+ */
+final class PhonebookSnapshot {
+    
+    private static final int MAGIC = 0x50425331;   // "PBS1"
+    private static final int FORMAT_VERSION = 4;
+    
+    // Fewest bytes one stored contact takes: three empty strings and the email flag
+    private static final int MIN_CONTACT_BYTES = 7;
+    
+    final ResultOrder listOrder;                   // order the main list was last sorted in
+    final Contact[] contacts;                      // main-list order
+    final Map<String, Contact[]> nameLists;
+    final Contact[] sorted;
+    
+    // Read into fresh indexes - the manager only takes them once the whole file has been read
+    final PrefixSearchIndex prefixIndex = new PrefixSearchIndex();
+    final PhoneSuffixIndex suffixIndex = new PhoneSuffixIndex();
+    final NGramIndex ngramIndex = new NGramIndex();
+    final PhoneticIndex phoneticIndex = new PhoneticIndex();
+    
+    private PhonebookSnapshot(ResultOrder listOrder, Contact[] contacts, Map<String, Contact[]> nameLists, Contact[] sorted) {
+        this.listOrder = listOrder;
+        this.contacts = contacts;
+        this.nameLists = nameLists;
+        this.sorted = sorted;
+    }
+    
+    /**
+     * Write the structures to file (via a temporary file, so a crash never leaves half a snapshot)
+     */
+    static void write(Path file, String contentVersion, ResultOrder listOrder, ContactSnapshot contacts,
+                      Map<String, ? extends List<Contact>> nameLists,
+                      PrefixSearchIndex prefixIndex, PhoneSuffixIndex suffixIndex,
+                      NGramIndex ngramIndex, PhoneticIndex phoneticIndex) throws IOException {
+        Contact[] ordered = contacts.getContacts().toArray(new Contact[0]);
+        IdentityHashMap<Contact, Integer> ordinals = new IdentityHashMap<>(ordered.length * 2);
+        for (int i = 0; i < ordered.length; i++) {
+            ordinals.put(ordered[i], i);
+        }
+        
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(collationId());
+            out.writeUTF(contentVersion);
+            out.writeUTF(listOrder.name());
+            
+            out.writeInt(ordered.length);
+            for (Contact contact : ordered) {
+                out.writeUTF(contact.getName());
+                out.writeUTF(contact.getPhoneNumber());
+                out.writeBoolean(contact.getEmail() != null);
+                if (contact.getEmail() != null) {
+                    out.writeUTF(contact.getEmail());
+                }
+                out.writeUTF(contact.getCategory());
+            }
+            
+            writeLists(out, nameLists, ordinals);
+            writeOrdinals(out, contacts.getSortedContacts(), ordinals);
+            
+            prefixIndex.writeTo(out, ordinals::get);
+            suffixIndex.writeTo(out, ordinals::get);
+            ngramIndex.writeTo(out, ordinals::get);
+            phoneticIndex.writeTo(out, ordered);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Read a snapshot written for this content version
+     * Returns null when the file belongs to another version of the data. A damaged file fails
+     * as an IOException: every count is checked against the bytes left and every ordinal against
+     * the contacts, so corrupt data never turns into a huge allocation or a dangling reference
+     */
+    static PhonebookSnapshot read(Path file, String contentVersion) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedInput in = new MappedInput(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a phonebook snapshot: " + file);
+            }
+            // Stale data, or a different collator would order the sorted index differently
+            if (!in.readUTF().equals(collationId()) || !in.readUTF().equals(contentVersion)) {
+                return null;
+            }
+            ResultOrder listOrder = ResultOrder.valueOf(in.readUTF());
+            
+            Contact[] contacts = new Contact[readCount(in, MIN_CONTACT_BYTES)];
+            for (int i = 0; i < contacts.length; i++) {
+                String name = in.readUTF();
+                String phone = in.readUTF();
+                String email = in.readBoolean() ? in.readUTF() : null;
+                contacts[i] = new Contact(name, phone, email, in.readUTF());
+            }
+            
+            Map<String, Contact[]> nameLists = readLists(in, contacts);
+            Contact[] sorted = readOrdinals(in, contacts);
+            if (sorted.length != contacts.length) {
+                throw new IOException("Sorted index does not match the contacts: " + file);
+            }
+            
+            PhonebookSnapshot snapshot = new PhonebookSnapshot(listOrder, contacts, nameLists, sorted);
+            snapshot.prefixIndex.readFrom(in, i -> contacts[i]);
+            snapshot.suffixIndex.readFrom(in, i -> contacts[i]);
+            snapshot.ngramIndex.readFrom(in, i -> contacts[i]);
+            snapshot.phoneticIndex.readFrom(in, contacts);
+            return snapshot;
+        
+        } catch (RuntimeException e) {
+            // Truncated data, an ordinal out of range, an unknown list order...
+            throw new IOException("Truncated or corrupt snapshot: " + file, e);
+        }
+    }
+    
+    /**
+     * Read a count of items taking at least bytesPerItem bytes each, checked against the bytes
+     * left in the file - a corrupt count fails here instead of allocating a negative or huge array
+     */
+    static int readCount(DataInput in, int bytesPerItem) throws IOException {
+        int count = in.readInt();
+        long remaining = in instanceof MappedInput ? ((MappedInput) in).remaining() : Long.MAX_VALUE;
+        if (count < 0 || (long) count * bytesPerItem > remaining) {
+            throw new IOException("Corrupt count in snapshot: " + count);
+        }
+        return count;
+    }
+    
+    // Collation depends on the default locale and the JDK's collation rules
+    private static String collationId() {
+        return Locale.getDefault().toLanguageTag() + "/" + System.getProperty("java.version");
+    }
+    
+    private static void writeLists(DataOutputStream out, Map<String, ? extends Collection<Contact>> lists,
+                                   IdentityHashMap<Contact, Integer> ordinals) throws IOException {
+        out.writeInt(lists.size());
+        for (Map.Entry<String, ? extends Collection<Contact>> list : lists.entrySet()) {
+            out.writeUTF(list.getKey());
+            writeOrdinals(out, list.getValue(), ordinals);
+        }
+    }
+    
+    private static void writeOrdinals(DataOutputStream out, Collection<Contact> contacts,
+                                      IdentityHashMap<Contact, Integer> ordinals) throws IOException {
+        out.writeInt(contacts.size());
+        for (Contact contact : contacts) {
+            out.writeInt(ordinals.get(contact));
+        }
+    }
+    
+    private static Map<String, Contact[]> readLists(DataInput in, Contact[] contacts) throws IOException {
+        int count = readCount(in, 6);   // key (at least its length) and a list count
+        Map<String, Contact[]> lists = new HashMap<>(count * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            String key = in.readUTF();
+            lists.put(key, readOrdinals(in, contacts));
+        }
+        return lists;
+    }
+    
+    private static Contact[] readOrdinals(DataInput in, Contact[] contacts) throws IOException {
+        Contact[] result = new Contact[readCount(in, 4)];
+        for (int i = 0; i < result.length; i++) {
+            int ordinal = in.readInt();
+            if (ordinal < 0 || ordinal >= contacts.length) {
+                throw new IOException("Contact ordinal out of range in snapshot: " + ordinal);
+            }
+            result[i] = contacts[ordinal];
+        }
+        return result;
+    }
+    
+    /**
+     * DataInput reading straight from a memory-mapped buffer
+     */
+    private static final class MappedInput implements DataInput {
+        private final ByteBuffer buffer;
+        
+        MappedInput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+        
+        int remaining() {
+            return buffer.remaining();
+        }
+        
+        @Override
+        public void readFully(byte[] bytes) {
+            buffer.get(bytes);
+        }
+        
+        @Override
+        public void readFully(byte[] bytes, int offset, int length) {
+            buffer.get(bytes, offset, length);
+        }
+        
+        @Override
+        public int skipBytes(int n) {
+            int skipped = Math.min(n, buffer.remaining());
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+        
+        @Override
+        public boolean readBoolean() {
+            return buffer.get() != 0;
+        }
+        
+        @Override
+        public byte readByte() {
+            return buffer.get();
+        }
+        
+        @Override
+        public int readUnsignedByte() {
+            return buffer.get() & 0xFF;
+        }
+        
+        @Override
+        public short readShort() {
+            return buffer.getShort();
+        }
+        
+        @Override
+        public int readUnsignedShort() {
+            return buffer.getShort() & 0xFFFF;
+        }
+        
+        @Override
+        public char readChar() {
+            return buffer.getChar();
+        }
+        
+        @Override
+        public int readInt() {
+            return buffer.getInt();
+        }
+        
+        @Override
+        public long readLong() {
+            return buffer.getLong();
+        }
+        
+        @Override
+        public float readFloat() {
+            return buffer.getFloat();
+        }
+        
+        @Override
+        public double readDouble() {
+            return buffer.getDouble();
+        }
+        
+        @Override
+        public String readLine() throws IOException {
+            throw new EOFException("readLine is not supported");
+        }
+        
+        @Override
+        public String readUTF() throws IOException {
+            return DataInputStream.readUTF(this);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package datastructure;
+
+import model.Contact;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * PhoneticIndex provides "sounds like" name search (Mohammed / Muhammad, Shetty / Setty)
+ * DSA Concept: Hashing on phonetic keys (Soundex) - a lookup is one hash probe plus a small verification
+ *
+ * Every word of a name gets a Soundex code. Codes are computed once when a contact is
+ * indexed and kept alongside it, so queries never re-encode stored names.
+ * One writer at a time; the maps and sets are concurrent, so readers may run alongside it.
+ */
+public class PhoneticIndex {
+    
+    // Soundex code -> contacts having a word with that code
+    private final ConcurrentHashMap<String, Set<Contact>> buckets = new ConcurrentHashMap<>();
+    
+    // Codes computed at insert time, kept per contact (one stored contact per phone number)
+    private final ConcurrentHashMap<Contact, String[]> codesByContact = new ConcurrentHashMap<>();
+    
+    public void add(Contact contact) {
+        String[] codes = encodeWords(contact.getFoldedName());
+        codesByContact.put(contact, codes);
+        for (String code : codes) {
+            buckets.computeIfAbsent(code, c -> ConcurrentHashMap.newKeySet()).add(contact);
+        }
+    }
+    
+    /**
+     * Startup bulk load, in parallel: names are encoded across cores, the codes are bucketed
+     * by partition in one pass, then each core fills the buckets of its own share of the codes
+     */
+    void addAll(Contact[] contacts) {
+        String[][] codes = new String[contacts.length][];
+        Arrays.parallelSetAll(codes, i -> encodeWords(contacts[i].getFoldedName()));
+        
+        int total = 0;
+        for (String[] contactCodes : codes) {
+            total += contactCodes.length;
+        }
+        String[] allCodes = new String[total];
+        int[] owners = new int[total];
+        int k = 0;
+        for (int i = 0; i < codes.length; i++) {
+            for (String code : codes[i]) {
+                allCodes[k] = code;
+                owners[k++] = i;
+            }
+        }
+        
+        int parts = ParallelIndexBuilder.partitionCount();
+        int[][] members = ParallelIndexBuilder.partitionMembers(allCodes, parts);
+        IntStream.range(0, parts).parallel().forEach(p -> {
+            for (int m : members[p]) {
+                buckets.computeIfAbsent(allCodes[m], c -> ConcurrentHashMap.newKeySet()).add(contacts[owners[m]]);
+            }
+        });
+        
+        for (int i = 0; i < contacts.length; i++) {
+            codesByContact.put(contacts[i], codes[i]);
+        }
+    }
+    
+    public void remove(Contact contact) {
+        String[] codes = codesByContact.remove(contact);
+        if (codes == null) {
+            return;
+        }
+        for (String code : codes) {
+            Set<Contact> bucket = buckets.get(code);
+            if (bucket != null) {
+                bucket.remove(contact);
+                if (bucket.isEmpty()) {
+                    buckets.remove(code);
+                }
+            }
+        }
+    }
+    
+    public void clear() {
+        buckets.clear();
+        codesByContact.clear();
+    }
+    
+    /**
+     * Snapshot: the Soundex codes of each contact, in the given contact order
+     */
+    void writeTo(DataOutput out, Contact[] contacts) throws IOException {
+        for (Contact contact : contacts) {
+            String[] codes = codesByContact.get(contact);
+            out.writeShort(codes.length);
+            for (String code : codes) {
+                out.writeUTF(code);
+            }
+        }
+    }
+    
+    /**
+     * Snapshot: re-index the contacts with their stored codes - no names are re-encoded
+     */
+    void readFrom(DataInput in, Contact[] contacts) throws IOException {
+        clear();
+        for (Contact contact : contacts) {
+            String[] codes = new String[in.readUnsignedShort()];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = in.readUTF();
+            }
+            codesByContact.put(contact, codes);
+            for (String code : codes) {
+                buckets.computeIfAbsent(code, c -> ConcurrentHashMap.newKeySet()).add(contact);
+            }
+        }
+    }
+    
+    /**
+     * Contacts whose name sounds like the query: every word of the query must
+     * sound like some word of the name. Closest word counts rank first.
+     */
+    public List<Contact> search(String query, int limit) {
+        String[] queryCodes = encodeWords(Contact.foldName(query));
+        if (queryCodes.length == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        
+        // Probe the smallest bucket among the query's codes
+        Set<Contact> smallest = null;
+        for (String code : queryCodes) {
+            Set<Contact> bucket = buckets.get(code);
+            if (bucket == null) {
+                return new ArrayList<>();
+            }
+            if (smallest == null || bucket.size() < smallest.size()) {
+                smallest = bucket;
+            }
+        }
+        
+        // Verify the remaining query codes against the stored codes
+        List<Contact> matches = new ArrayList<>();
+        Map<Contact, Integer> wordCounts = new HashMap<>();
+        for (Contact candidate : smallest) {
+            String[] candidateCodes = codesByContact.get(candidate);
+            if (candidateCodes != null && containsAll(candidateCodes, queryCodes)) {
+                matches.add(candidate);
+                wordCounts.put(candidate, candidateCodes.length);
+            }
+        }
+        
+        matches.sort(Comparator.comparingInt((Contact c) -> wordCounts.get(c))
+                .thenComparing(Contact::getNameCollationKey));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+    
+    private static boolean containsAll(String[] codes, String[] required) {
+        for (String needed : required) {
+            boolean found = false;
+            for (String code : codes) {
+                if (code.equals(needed)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // Soundex code of every word in an already folded name (duplicates removed)
+    private static String[] encodeWords(String foldedName) {
+        LinkedHashSet<String> codes = new LinkedHashSet<>();
+        for (String word : foldedName.split("[^\\p{L}]+")) {
+            String code = soundex(word);
+            if (!code.isEmpty()) {
+                codes.add(code);
+            }
+        }
+        return codes.toArray(new String[0]);
+    }
+    
+    /**
+     * American Soundex: first letter + 3 digits ("Robert" -> R163)
+     * Vowels separate repeated codes, H and W do not
+     */
+    static String soundex(String word) {
+        StringBuilder code = new StringBuilder(4);
+        char lastDigit = 0;
+        
+        for (int i = 0; i < word.length() && code.length() < 4; i++) {
+            char c = Character.toUpperCase(word.charAt(i));
+            if (c < 'A' || c > 'Z') {
+                continue;
+            }
+            char digit = soundexDigit(c);
+            
+            if (code.length() == 0) {
+                code.append(c);
+                lastDigit = digit;
+            } else if (digit != '0' && digit != lastDigit) {
+                code.append(digit);
+                lastDigit = digit;
+            } else if (c != 'H' && c != 'W') {
+                lastDigit = digit;
+            }
+        }
+        
+        if (code.length() == 0) {
+            return "";
+        }
+        while (code.length() < 4) {
+            code.append('0');
+        }
+        return code.toString();
+    }
+    
+    private static char soundexDigit(char c) {
+        switch (c) {
+            case 'B': case 'F': case 'P': case 'V':
+                return '1';
+            case 'C': case 'G': case 'J': case 'K': case 'Q': case 'S': case 'X': case 'Z':
+                return '2';
+            case 'D': case 'T':
+                return '3';
+            case 'L':
+                return '4';
+            case 'M': case 'N':
+                return '5';
+            case 'R':
+                return '6';
+            default:
+                return '0'; // vowels, H, W, Y
+        }
+    }
+}
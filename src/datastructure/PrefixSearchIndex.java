@@ -0,0 +1,115 @@
+package datastructure;
+
+import model.Contact;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * PrefixSearchIndex powers typeahead suggestions for names and phone numbers
+ * DSA Concept: Trie - top-k prefix matches in O(prefix length + k), independent of directory size
+ *
+ * Names are indexed folded and by every word, so "qur" finds "Asad Qureshi".
+ * Phone numbers are indexed by their digits only, so "+91 98" and "9198" behave the same.
+ */
+public class PrefixSearchIndex {
+    
+    private final Trie<Contact> nameTrie = new Trie<>();
+    private final Trie<Contact> phoneTrie = new Trie<>();
+    
+    public void add(Contact contact) {
+        for (String key : nameKeys(contact.getFoldedName())) {
+            nameTrie.insert(key, contact);
+        }
+        phoneTrie.insert(KeyNormalizer.digitsOf(contact.getPhoneNumber()), contact);
+    }
+    
+    /**
+     * Startup bulk load: the name and phone tries are built at the same time, each in parallel
+     */
+    void addAll(Contact[] contacts) {
+        List<String> nameKeyList = new ArrayList<>(contacts.length * 2);
+        List<Contact> owners = new ArrayList<>(contacts.length * 2);
+        List<String> phoneKeys = new ArrayList<>(contacts.length);
+        for (Contact contact : contacts) {
+            for (String key : nameKeys(contact.getFoldedName())) {
+                nameKeyList.add(key);
+                owners.add(contact);
+            }
+            phoneKeys.add(KeyNormalizer.digitsOf(contact.getPhoneNumber()));
+        }
+        
+        ForkJoinTask<?> phones = ForkJoinTask.adapt(() -> phoneTrie.insertAll(phoneKeys, Arrays.asList(contacts))).fork();
+        nameTrie.insertAll(nameKeyList, owners);
+        phones.join();
+    }
+    
+    public void remove(Contact contact) {
+        for (String key : nameKeys(contact.getFoldedName())) {
+            nameTrie.remove(key, contact);
+        }
+        phoneTrie.remove(KeyNormalizer.digitsOf(contact.getPhoneNumber()), contact);
+    }
+    
+    /**
+     * Top-k contacts whose name (any word) or phone number starts with the typed text
+     */
+    public List<Contact> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.trim().isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        
+        if (KeyNormalizer.isPhoneLike(prefix)) {
+            return phoneTrie.startingWith(KeyNormalizer.digitsOf(prefix), limit);
+        }
+        
+        // One contact can be reached through several word keys, so de-duplicate
+        // and widen the trie query until enough distinct contacts are found
+        String key = Contact.foldName(prefix);
+        int fetch = limit;
+        while (true) {
+            List<Contact> raw = nameTrie.startingWith(key, fetch);
+            Set<Contact> distinct = new LinkedHashSet<>(raw);
+            if (distinct.size() >= limit || raw.size() < fetch) {
+                List<Contact> results = new ArrayList<>(distinct);
+                return results.size() > limit ? results.subList(0, limit) : results;
+            }
+            fetch *= 2;
+        }
+    }
+    
+    public void clear() {
+        nameTrie.clear();
+        phoneTrie.clear();
+    }
+    
+    void writeTo(DataOutput out, ToIntFunction<Contact> ordinalOf) throws IOException {
+        nameTrie.writeTo(out, ordinalOf);
+        phoneTrie.writeTo(out, ordinalOf);
+    }
+    
+    void readFrom(DataInput in, IntFunction<Contact> contactOf) throws IOException {
+        nameTrie.readFrom(in, contactOf);
+        phoneTrie.readFrom(in, contactOf);
+    }
+    
+    // Full folded name plus the tail starting at every later word
+    private static List<String> nameKeys(String folded) {
+        List<String> keys = new ArrayList<>();
+        keys.add(folded);
+        for (int i = 1; i < folded.length(); i++) {
+            if (folded.charAt(i - 1) == ' ' && folded.charAt(i) != ' ') {
+                keys.add(folded.substring(i));
+            }
+        }
+        return keys;
+    }
+}
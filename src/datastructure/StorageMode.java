@@ -0,0 +1,13 @@
+package datastructure;
+
+/**
+ * Where PhonebookManager keeps its contacts
+ *
+ *   IN_MEMORY - every contact is loaded into the DSA structures; the database is only for persistence
+ *   DATABASE  - nothing is loaded; lookups, category and prefix queries run as indexed SQL,
+ *               so directories larger than the heap still work
+ */
+public enum StorageMode {
+    IN_MEMORY,
+    DATABASE
+}
@@ -0,0 +1,356 @@
+package datastructure;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Trie (Prefix Tree) mapping string keys to values
+ * DSA Concept: Trie - insert/remove cost O(key length),
+ * prefix queries cost O(prefix length + k) instead of scanning every key
+ *
+ * Children are kept in sorted arrays, so prefix results come out in alphabetical key order.
+ * Several values may share one key (e.g. two contacts with the same name).
+ */
+public class Trie<V> {
+    
+    private static final char[] NO_LABELS = new char[0];
+    
+    private static class Node<V> {
+        char[] labels = NO_LABELS;       // sorted child characters
+        Node<V>[] children = newArray(0);
+        int childCount;
+        LinkedList<V> values;            // values whose key ends at this node
+        
+        @SuppressWarnings("unchecked")
+        static <V> Node<V>[] newArray(int size) {
+            return (Node<V>[]) new Node<?>[size];
+        }
+        
+        // Binary search over the sorted child labels
+        int indexOf(char c) {
+            return Arrays.binarySearch(labels, 0, childCount, c);
+        }
+        
+        Node<V> child(char c) {
+            int idx = indexOf(c);
+            return idx >= 0 ? children[idx] : null;
+        }
+        
+        Node<V> getOrCreateChild(char c) {
+            int idx = indexOf(c);
+            if (idx >= 0) {
+                return children[idx];
+            }
+            
+            int insertAt = -idx - 1;
+            if (childCount == labels.length) {
+                int newSize = Math.max(2, childCount * 2);
+                labels = Arrays.copyOf(labels, newSize);
+                children = Arrays.copyOf(children, newSize);
+            }
+            System.arraycopy(labels, insertAt, labels, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            
+            Node<V> node = new Node<>();
+            labels[insertAt] = c;
+            children[insertAt] = node;
+            childCount++;
+            return node;
+        }
+        
+        void removeChild(char c) {
+            int idx = indexOf(c);
+            if (idx < 0) {
+                return;
+            }
+            System.arraycopy(labels, idx + 1, labels, idx, childCount - idx - 1);
+            System.arraycopy(children, idx + 1, children, idx, childCount - idx - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+        
+        boolean isEmpty() {
+            return childCount == 0 && values == null;
+        }
+    }
+    
+    private final Node<V> root = new Node<>();
+    private int size;
+    
+    /**
+     * Insert a value under the given key
+     */
+    public void insert(String key, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrCreateChild(key.charAt(i));
+        }
+        if (node.values == null) {
+            node.values = new LinkedList<>();
+        }
+        node.values.add(value);
+        size++;
+    }
+    
+    /**
+     * Bulk insert of keys.get(i) -> values.get(i), built in parallel
+     * Keys are partitioned by their first character, so every partition grows its own disjoint
+     * set of root subtrees on its own core; the partitions are then joined at the root.
+     * Values sharing a key keep the order they were given in, exactly as with insert()
+     */
+    void insertAll(List<String> keys, List<V> values) {
+        int parts = ParallelIndexBuilder.partitionCount();
+        if (size > 0 || parts == 1) {
+            for (int i = 0; i < keys.size(); i++) {
+                insert(keys.get(i), values.get(i));
+            }
+            return;
+        }
+        
+        int[] partOf = new int[keys.size()];
+        int[] counts = new int[parts];
+        for (int i = 0; i < partOf.length; i++) {
+            String key = keys.get(i);
+            partOf[i] = key.isEmpty() ? 0 : key.charAt(0) % parts;
+            counts[partOf[i]]++;
+        }
+        int[][] members = new int[parts][];
+        for (int p = 0; p < parts; p++) {
+            members[p] = new int[counts[p]];
+            counts[p] = 0;
+        }
+        for (int i = 0; i < partOf.length; i++) {
+            members[partOf[i]][counts[partOf[i]]++] = i;
+        }
+        
+        List<Trie<V>> built = IntStream.range(0, parts).parallel().mapToObj(p -> {
+            Trie<V> partial = new Trie<>();
+            for (int i : members[p]) {
+                partial.insert(keys.get(i), values.get(i));
+            }
+            return partial;
+        }).collect(Collectors.toList());
+        
+        // Join the partitions: root labels are disjoint, so only the root arrays need merging
+        int childCount = 0;
+        for (Trie<V> partial : built) {
+            childCount += partial.root.childCount;
+        }
+        root.labels = new char[childCount];
+        root.children = Node.newArray(childCount);
+        for (Trie<V> partial : built) {
+            for (int i = 0; i < partial.root.childCount; i++) {
+                root.labels[root.childCount] = partial.root.labels[i];
+                root.children[root.childCount++] = partial.root.children[i];
+            }
+            if (partial.root.values != null) {
+                root.values = partial.root.values;   // empty keys all land in partition 0
+            }
+            size += partial.size;
+        }
+        sortRootChildren();
+    }
+    
+    // Insertion sort of the root's (label, child) pairs by label - at most one entry per distinct character
+    private void sortRootChildren() {
+        for (int i = 1; i < root.childCount; i++) {
+            char label = root.labels[i];
+            Node<V> child = root.children[i];
+            int j = i - 1;
+            while (j >= 0 && root.labels[j] > label) {
+                root.labels[j + 1] = root.labels[j];
+                root.children[j + 1] = root.children[j];
+                j--;
+            }
+            root.labels[j + 1] = label;
+            root.children[j + 1] = child;
+        }
+    }
+    
+    /**
+     * Remove one value stored under the given key, pruning nodes that become empty
+     */
+    public boolean remove(String key, V value) {
+        List<Node<V>> path = new ArrayList<>(key.length() + 1);
+        Node<V> node = root;
+        path.add(node);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+            path.add(node);
+        }
+        
+        if (node == null || node.values == null || !node.values.remove(value)) {
+            return false;
+        }
+        if (node.values.isEmpty()) {
+            node.values = null;
+        }
+        size--;
+        
+        // Walk back up and unlink empty nodes
+        for (int i = key.length(); i > 0 && path.get(i).isEmpty(); i--) {
+            path.get(i - 1).removeChild(key.charAt(i - 1));
+        }
+        return true;
+    }
+    
+    /**
+     * Collect up to limit values whose key starts with prefix, in key order
+     */
+    public List<V> startingWith(String prefix, int limit) {
+        List<V> results = new ArrayList<>();
+        if (limit <= 0) {
+            return results;
+        }
+        
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        
+        if (node != null) {
+            collect(node, results, limit);
+        }
+        return results;
+    }
+    
+    // Depth-first traversal that stops as soon as enough values are found
+    private void collect(Node<V> start, List<V> results, int limit) {
+        ArrayDeque<Visit<V>> path = new ArrayDeque<>();
+        if (addValues(start, results, limit)) {
+            return;
+        }
+        path.push(new Visit<>(start));
+        while (!path.isEmpty()) {
+            Visit<V> visit = path.peek();
+            if (visit.nextChild == visit.node.childCount) {
+                path.pop();
+                continue;
+            }
+            Node<V> child = visit.node.children[visit.nextChild++];
+            if (addValues(child, results, limit)) {
+                return;
+            }
+            path.push(new Visit<>(child));
+        }
+    }
+    
+    // Returns true once the results are full
+    private static <V> boolean addValues(Node<V> node, List<V> results, int limit) {
+        if (node.values != null) {
+            for (V value : node.values) {
+                results.add(value);
+                if (results.size() >= limit) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public void clear() {
+        root.labels = NO_LABELS;
+        root.children = Node.newArray(0);
+        root.childCount = 0;
+        root.values = null;
+        size = 0;
+    }
+    
+    /**
+     * Snapshot: write the trie in pre-order (values as ordinals, then labelled children)
+     * Walked with an explicit stack, like every traversal here - a key may be longer than the call stack is deep
+     */
+    void writeTo(DataOutput out, ToIntFunction<V> ordinalOf) throws IOException {
+        ArrayDeque<Visit<V>> path = new ArrayDeque<>();
+        writeNode(root, out, ordinalOf);
+        path.push(new Visit<>(root));
+        while (!path.isEmpty()) {
+            Visit<V> visit = path.peek();
+            if (visit.nextChild == visit.node.childCount) {
+                path.pop();
+                continue;
+            }
+            int i = visit.nextChild++;
+            out.writeChar(visit.node.labels[i]);
+            writeNode(visit.node.children[i], out, ordinalOf);
+            path.push(new Visit<>(visit.node.children[i]));
+        }
+    }
+    
+    /**
+     * Snapshot: rebuild the trie node by node with exactly-sized child arrays -
+     * no searching or array growth, unlike inserting every key again
+     */
+    void readFrom(DataInput in, IntFunction<V> valueOf) throws IOException {
+        clear();
+        ArrayDeque<Visit<V>> path = new ArrayDeque<>();
+        int count = readNode(root, in, valueOf);
+        path.push(new Visit<>(root));
+        while (!path.isEmpty()) {
+            Visit<V> visit = path.peek();
+            if (visit.nextChild == visit.node.childCount) {
+                path.pop();
+                continue;
+            }
+            int i = visit.nextChild++;
+            visit.node.labels[i] = in.readChar();
+            visit.node.children[i] = new Node<>();
+            count += readNode(visit.node.children[i], in, valueOf);
+            path.push(new Visit<>(visit.node.children[i]));
+        }
+        size = count;
+    }
+    
+    // A node on the path being walked, and the next of its children to visit
+    private static final class Visit<V> {
+        final Node<V> node;
+        int nextChild;
+        
+        Visit(Node<V> node) {
+            this.node = node;
+        }
+    }
+    
+    // One node's own record: its values, then its child count (the children follow)
+    private static <V> void writeNode(Node<V> node, DataOutput out, ToIntFunction<V> ordinalOf) throws IOException {
+        out.writeInt(node.values == null ? 0 : node.values.size());
+        if (node.values != null) {
+            for (V value : node.values) {
+                out.writeInt(ordinalOf.applyAsInt(value));
+            }
+        }
+        out.writeInt(node.childCount);
+    }
+    
+    // Reads one node's record and sizes its child arrays; returns the number of values it holds
+    private static <V> int readNode(Node<V> node, DataInput in, IntFunction<V> valueOf) throws IOException {
+        int count = in.readInt();
+        if (count > 0) {
+            node.values = new LinkedList<>();
+            for (int i = 0; i < count; i++) {
+                node.values.add(valueOf.apply(in.readInt()));
+            }
+        }
+        int childCount = PhonebookSnapshot.readCount(in, 10);   // label, value count, child count
+        if (childCount > 0) {
+            node.labels = new char[childCount];
+            node.children = Node.newArray(childCount);
+            node.childCount = childCount;
+        }
+        return count;
+    }
+}
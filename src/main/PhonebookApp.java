@@ -1,7 +1,22 @@
 package main;
 
+import datastructure.ContactOrder;
 import datastructure.PhonebookManager;
+import datastructure.StorageMode;
 import model.Contact;
+import database.ContactFilter;
+import database.ContactPage;
+import database.DatabaseManager;
+import database.DurabilityPolicy;
+import database.PageKey;
+import database.StorageProfile;
+import transfer.ContactExporter;
+import transfer.ContactImporter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -10,15 +25,21 @@ import java.util.Scanner;
  */
 public class PhonebookApp {
     
-    private static PhonebookManager phonebook = new PhonebookManager();
+    private static PhonebookManager phonebook;
     private static Scanner scanner = new Scanner(System.in);
     
+    // Contacts printed per page by "Display All Contacts"
+    private static final int DISPLAY_PAGE_SIZE = 20;
+    
     public static void main(String[] args) {
         System.out.println("╔═══════════════════════════════════════╗");
         System.out.println("║   📞 PHONEBOOK MANAGEMENT SYSTEM 📞   ║");
         System.out.println("║      Data Structures & Algorithms     ║");
         System.out.println("╚═══════════════════════════════════════╝");
         
+        phonebook = createPhonebook(args);
+        configureWriteBehind(phonebook, args);
+        
         boolean running = true;
         
         while (running) {
@@ -54,6 +75,12 @@ public class PhonebookApp {
                     phonebook.displayAllCategories();
                     break;
                 case 10:
+                    importContacts();
+                    break;
+                case 11:
+                    exportContacts();
+                    break;
+                case 12:
                     running = false;
                     System.out.println("\n👋 Thank you for using Phonebook! Goodbye!");
                     break;
@@ -68,6 +95,68 @@ public class PhonebookApp {
         }
         
         scanner.close();
+        phonebook.closeDatabase();
+    }
+    
+    /**
+     * Storage options from the command line:
+     *   --db=contacts.db        database file (default phonebook.db)
+     *   --profile=durable       SQLite profile: sqlite-defaults, durable or balanced (default)
+     *   --storage=database      keep contacts on disk and query with SQL (for very large directories)
+     * Shared with the HTTP server (server.PhonebookServer)
+     */
+    public static PhonebookManager createPhonebook(String[] args) {
+        String dbPath = DatabaseManager.DEFAULT_DB_PATH;
+        StorageProfile profile = StorageProfile.BALANCED;
+        StorageMode mode = StorageMode.IN_MEMORY;
+        
+        for (String arg : args) {
+            if (arg.startsWith("--db=")) {
+                dbPath = arg.substring("--db=".length()).trim();
+            } else if (arg.startsWith("--profile=")) {
+                StorageProfile chosen = StorageProfile.fromName(arg.substring("--profile=".length()));
+                if (chosen == null) {
+                    System.out.println("❌ Unknown storage profile: " + arg + " - using " + profile.getName());
+                } else {
+                    profile = chosen;
+                }
+            } else if (arg.startsWith("--storage=")) {
+                try {
+                    mode = StorageMode.valueOf(arg.substring("--storage=".length()).trim().toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    System.out.println("❌ Unknown storage mode: " + arg + " - use in_memory or database");
+                }
+            }
+        }
+        return new PhonebookManager(dbPath, profile, mode);
+    }
+    
+    /**
+     * Optional write-behind persistence from the command line:
+     *   --write-behind          write each change as soon as possible
+     *   --write-behind=50ms     group changes made within 50 ms into one transaction
+     *   --write-behind=100ops   commit every 100 changes
+     */
+    public static void configureWriteBehind(PhonebookManager phonebook, String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--write-behind")) {
+                continue;
+            }
+            String value = arg.contains("=") ? arg.substring(arg.indexOf('=') + 1).trim().toLowerCase() : "";
+            try {
+                if (value.isEmpty()) {
+                    phonebook.enableWriteBehind(DurabilityPolicy.perOperation());
+                } else if (value.endsWith("ms")) {
+                    phonebook.enableWriteBehind(DurabilityPolicy.everyMillis(Long.parseLong(value.substring(0, value.length() - 2))));
+                } else if (value.endsWith("ops")) {
+                    phonebook.enableWriteBehind(DurabilityPolicy.everyOperations(Integer.parseInt(value.substring(0, value.length() - 3))));
+                } else {
+                    System.out.println("❌ Unknown write-behind policy: " + value + " (use 50ms or 100ops)");
+                }
+            } catch (NumberFormatException e) {
+                System.out.println("❌ Invalid write-behind policy: " + value);
+            }
+        }
     }
     
     private static void displayMenu() {
@@ -83,7 +172,9 @@ public class PhonebookApp {
         System.out.println("7.  🔄 Check for Duplicate");
         System.out.println("8.  📂 View Contacts by Category");
         System.out.println("9.  📊 Display All Categories");
-        System.out.println("10. 🚪 Exit");
+        System.out.println("10. 📥 Import Contacts (CSV / vCard)");
+        System.out.println("11. 📤 Export Contacts (CSV / vCard / JSON)");
+        System.out.println("12. 🚪 Exit");
         System.out.println("═══════════════════════════════════════");
         System.out.println("Total Contacts: " + phonebook.getTotalContacts());
         System.out.println();
@@ -119,9 +210,37 @@ public class PhonebookApp {
         phonebook.addContact(newContact);
     }
     
-    // Feature 2: Display All Contacts
+    // Feature 2: Display All Contacts - one keyset page at a time
     private static void displayAllContacts() {
-        phonebook.displayAllContacts();
+        scanner.nextLine(); // Clear buffer
+        
+        PageKey after = null;
+        int shown = 0;
+        while (true) {
+            ContactPage page = phonebook.page(after, DISPLAY_PAGE_SIZE, null);
+            if (shown == 0) {
+                if (page.getContacts().isEmpty()) {
+                    System.out.println("📭 No contacts found!");
+                    return;
+                }
+                System.out.println("\n📖 ========== ALL CONTACTS ==========");
+            }
+            
+            for (Contact contact : page.getContacts()) {
+                System.out.println("Contact #" + ++shown);
+                System.out.println(contact);
+                System.out.println("-----------------------------------");
+            }
+            
+            if (!page.hasMore()) {
+                return;
+            }
+            System.out.print("Press Enter for the next " + DISPLAY_PAGE_SIZE + " contacts (q to stop): ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                return;
+            }
+            after = page.getNextKey();
+        }
     }
     
     // Feature 3: Search Contact
@@ -129,6 +248,10 @@ public class PhonebookApp {
         System.out.println("\n🔍 ========== SEARCH CONTACT ==========");
         System.out.println("1. Search by Name");
         System.out.println("2. Search by Phone Number");
+        System.out.println("3. Search by Last Digits of Phone Number");
+        System.out.println("4. Fuzzy Name Search (tolerates typos)");
+        System.out.println("5. Sounds-Like Name Search");
+        System.out.println("6. Full-Text Search (name and email)");
         
         int choice = getIntInput("Enter choice: ");
         scanner.nextLine(); // Clear buffer
@@ -144,6 +267,26 @@ public class PhonebookApp {
                 String phone = scanner.nextLine();
                 phonebook.displaySearchResults(phone, true);
                 break;
+            case 3:
+                System.out.print("Enter Last Digits: ");
+                String lastDigits = scanner.nextLine();
+                phonebook.displaySuffixSearchResults(lastDigits);
+                break;
+            case 4:
+                System.out.print("Enter Name: ");
+                String approxName = scanner.nextLine();
+                phonebook.displayFuzzySearchResults(approxName);
+                break;
+            case 5:
+                System.out.print("Enter Name: ");
+                String spokenName = scanner.nextLine();
+                phonebook.displaySoundsLikeResults(spokenName);
+                break;
+            case 6:
+                System.out.print("Enter any words: ");
+                String words = scanner.nextLine();
+                phonebook.displayFullTextResults(words);
+                break;
             default:
                 System.out.println("❌ Invalid choice!");
         }
@@ -173,6 +316,15 @@ public class PhonebookApp {
             return;
         }
         
+        // Names are not unique - pin the choice down to one phone number
+        if (!isPhone) {
+            searchTerm = chooseContactByName(searchTerm);
+            if (searchTerm == null) {
+                return;
+            }
+            isPhone = true;
+        }
+        
         // First display the contact
         phonebook.displaySearchResults(searchTerm, isPhone);
         
@@ -218,6 +370,15 @@ public class PhonebookApp {
             return;
         }
         
+        // Names are not unique - pin the choice down to one phone number
+        if (!isPhone) {
+            searchTerm = chooseContactByName(searchTerm);
+            if (searchTerm == null) {
+                return;
+            }
+            isPhone = true;
+        }
+        
         // First display the contact
         phonebook.displaySearchResults(searchTerm, isPhone);
         
@@ -236,6 +397,8 @@ public class PhonebookApp {
         System.out.println("\n🔤 ========== SORT CONTACTS ==========");
         System.out.println("1. Bubble Sort");
         System.out.println("2. Selection Sort");
+        System.out.println("3. Sorted Index (instant)");
+        System.out.println("4. Parallel Merge Sort (choose ordering)");
         
         int choice = getIntInput("Choose sorting algorithm: ");
         
@@ -246,6 +409,21 @@ public class PhonebookApp {
             case 2:
                 phonebook.sortContactsSelectionSort();
                 break;
+            case 3:
+                phonebook.sortContactsUsingIndex();
+                break;
+            case 4:
+                ContactOrder[] orders = ContactOrder.values();
+                for (int i = 0; i < orders.length; i++) {
+                    System.out.println("   " + (i + 1) + ". " + orders[i]);
+                }
+                int orderChoice = getIntInput("Choose ordering: ");
+                if (orderChoice < 1 || orderChoice > orders.length) {
+                    System.out.println("❌ Invalid choice!");
+                    return;
+                }
+                phonebook.sortContactsParallel(orders[orderChoice - 1]);
+                break;
             default:
                 System.out.println("❌ Invalid choice!");
                 return;
@@ -299,6 +477,80 @@ public class PhonebookApp {
         phonebook.displayContactsByCategory(category);
     }
     
+    // Feature 10: Bulk Import from CSV / vCard
+    private static void importContacts() {
+        System.out.println("\n📥 ========== IMPORT CONTACTS ==========");
+        scanner.nextLine(); // Clear buffer
+        
+        System.out.print("Enter file path (.csv, .vcf, optionally .gz): ");
+        Path file = Paths.get(scanner.nextLine().trim());
+        
+        if (!Files.isRegularFile(file)) {
+            System.out.println("❌ File not found!");
+            return;
+        }
+        
+        try {
+            new ContactImporter(phonebook).importFile(file);
+        } catch (IOException e) {
+            System.out.println("❌ Import failed: " + e.getMessage());
+        }
+    }
+    
+    // Feature 11: Streaming Export to CSV / vCard / JSON
+    private static void exportContacts() {
+        System.out.println("\n📤 ========== EXPORT CONTACTS ==========");
+        scanner.nextLine(); // Clear buffer
+        
+        System.out.print("Enter output file (.csv, .vcf or .json, add .gz to compress): ");
+        Path file = Paths.get(scanner.nextLine().trim());
+        
+        System.out.print("Only this category (press Enter for all): ");
+        String category = scanner.nextLine();
+        
+        System.out.print("Names from (press Enter to skip): ");
+        String nameFrom = scanner.nextLine();
+        
+        System.out.print("Names before (press Enter to skip): ");
+        String nameTo = scanner.nextLine();
+        
+        try {
+            new ContactExporter(phonebook).exportFile(file, new ContactFilter(category, nameFrom, nameTo));
+        } catch (IOException e) {
+            System.out.println("❌ Export failed: " + e.getMessage());
+        }
+    }
+    
+    // Helper method to pick one contact among all contacts sharing a name
+    // Returns the chosen contact's phone number, or null if nothing was chosen
+    private static String chooseContactByName(String name) {
+        List<Contact> matches = phonebook.searchAllByName(name);
+        
+        if (matches.isEmpty()) {
+            System.out.println("❌ Contact not found!");
+            return null;
+        }
+        if (matches.size() == 1) {
+            return matches.get(0).getPhoneNumber();
+        }
+        
+        System.out.println("\n" + matches.size() + " contacts share this name:");
+        for (int i = 0; i < matches.size(); i++) {
+            Contact match = matches.get(i);
+            System.out.println((i + 1) + ". " + match.getName() + " - " + match.getPhoneNumber()
+                               + " (" + match.getCategory() + ")");
+        }
+        
+        int pick = getIntInput("Select contact: ");
+        scanner.nextLine(); // Clear buffer
+        
+        if (pick < 1 || pick > matches.size()) {
+            System.out.println("❌ Invalid choice!");
+            return null;
+        }
+        return matches.get(pick - 1).getPhoneNumber();
+    }
+    
     // Helper method to get integer input
     private static int getIntInput(String prompt) {
         System.out.print(prompt);
@@ -0,0 +1,116 @@
+package main;
+
+import database.ContactFilter;
+import database.DatabaseManager;
+import database.StorageProfile;
+import model.Contact;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the SQLite storage profiles on the phonebook's own workload
+ *
+ *   java main.StorageBenchmark [rows] [single-row operations]
+ *
+ * Each profile gets a fresh temporary database file. Reported times are in milliseconds.
+ */
+public class StorageBenchmark {
+    
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int singleOps = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        
+        List<Contact> contacts = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            contacts.add(new Contact("Contact " + i, "555" + i, "contact" + i + "@example.com",
+                    i % 3 == 0 ? "Family" : i % 3 == 1 ? "Friends" : "Work"));
+        }
+        
+        PrintStream out = System.out;
+        out.println("📊 Storage benchmark - " + rows + " rows, " + singleOps + " single-row operations per phase");
+        out.printf("%-16s %12s %12s %12s %12s %12s %12s%n",
+                "profile", "bulk insert", "single ins", "update", "delete", "load all", "stream (RO)");
+        
+        for (StorageProfile profile : StorageProfile.PRESETS) {
+            // Keep DatabaseManager's progress messages out of the table
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            long[] times;
+            try {
+                times = run(profile, contacts, singleOps);
+            } finally {
+                System.setOut(out);
+            }
+            out.printf("%-16s %12d %12d %12d %12d %12d %12d%n", profile.getName(),
+                    times[0], times[1], times[2], times[3], times[4], times[5]);
+        }
+    }
+    
+    private static long[] run(StorageProfile profile, List<Contact> contacts, int singleOps) {
+        long[] times = new long[6];
+        File file;
+        try {
+            file = File.createTempFile("phonebook-bench-", ".db");
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create a temporary database file", e);
+        }
+        String path = file.getAbsolutePath();
+        file.delete();
+        
+        DatabaseManager db = new DatabaseManager(path, profile);
+        try {
+            long start = System.nanoTime();
+            db.insertContacts(contacts);
+            times[0] = millisSince(start);
+            
+            // Autocommit: one transaction (and one sync) per row
+            start = System.nanoTime();
+            for (int i = 0; i < singleOps; i++) {
+                db.insertContact(new Contact("Single " + i, "777" + i, "", "Work"));
+            }
+            times[1] = millisSince(start);
+            
+            start = System.nanoTime();
+            for (int i = 0; i < singleOps; i++) {
+                Contact contact = contacts.get(i % contacts.size());
+                db.updateContact(contact.getPhoneNumber(), contact);
+            }
+            times[2] = millisSince(start);
+            
+            start = System.nanoTime();
+            for (int i = 0; i < singleOps; i++) {
+                db.deleteContact("777" + i);
+            }
+            times[3] = millisSince(start);
+            
+            start = System.nanoTime();
+            db.loadAllContacts();
+            times[4] = millisSince(start);
+            
+            DatabaseManager reader = db.openReader();
+            try {
+                long[] count = new long[1];
+                start = System.nanoTime();
+                reader.streamContacts(ContactFilter.ALL, contact -> count[0]++);
+                times[5] = millisSince(start);
+            } catch (IOException e) {
+                times[5] = -1;
+            } finally {
+                reader.closeConnection();
+            }
+        } finally {
+            db.closeConnection();
+            for (String suffix : new String[] {"", "-wal", "-shm", "-journal"}) {
+                new File(path + suffix).delete();
+            }
+        }
+        return times;
+    }
+    
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
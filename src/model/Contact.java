@@ -1,14 +1,34 @@
 package model;
 
+import java.text.CollationKey;
+import java.text.Collator;
+import java.text.Normalizer;
+import java.util.Locale;
+
 /**
  * Contact class represents a single contact entry in the phonebook
  * This class encapsulates all contact information
+ *
+ * Contacts are immutable values: an update creates a new Contact (withPhoneNumber / withEmail),
+ * so a contact never changes its hash code while it sits in an index, and a reader holding
+ * one always sees a consistent contact.
  */
-public class Contact {
-    private String name;
-    private String phoneNumber;
-    private String email;
-    private String category; // Family, Friends, Work
+public final class Contact {
+    private final String name;
+    private final String phoneNumber;
+    private final String email;
+    private final String category; // Family, Friends, Work
+    
+    // Cached name keys - computed on first use (racing threads compute the same value)
+    private String foldedName;
+    private CollationKey nameCollationKey;
+    
+    // Locale-aware, case-insensitive collator (Collator is not thread-safe, so one per thread)
+    private static final ThreadLocal<Collator> COLLATOR = ThreadLocal.withInitial(() -> {
+        Collator collator = Collator.getInstance();
+        collator.setStrength(Collator.SECONDARY);
+        return collator;
+    });
     
     // Constructor with all parameters
     public Contact(String name, String phoneNumber, String email, String category) {
@@ -28,32 +48,78 @@ public class Contact {
         return name;
     }
     
-    public void setName(String name) {
-        this.name = name;
+    /**
+     * Case-folded, Unicode-normalized name used for matching (cached)
+     */
+    public String getFoldedName() {
+        String folded = foldedName;
+        if (folded == null) {
+            folded = foldName(name);
+            foldedName = folded;
+        }
+        return folded;
     }
     
-    public String getPhoneNumber() {
-        return phoneNumber;
+    /**
+     * Locale-aware collation key of the name used for ordering (cached)
+     */
+    public CollationKey getNameCollationKey() {
+        CollationKey key = nameCollationKey;
+        if (key == null) {
+            key = collationKeyOf(name);
+            nameCollationKey = key;
+        }
+        return key;
     }
     
-    public void setPhoneNumber(String phoneNumber) {
-        this.phoneNumber = phoneNumber;
+    public String getPhoneNumber() {
+        return phoneNumber;
     }
     
     public String getEmail() {
         return email;
     }
     
-    public void setEmail(String email) {
-        this.email = email;
-    }
-    
     public String getCategory() {
         return category;
     }
     
-    public void setCategory(String category) {
-        this.category = category;
+    /**
+     * Copy of this contact with a different phone number
+     */
+    public Contact withPhoneNumber(String phoneNumber) {
+        return sameName(new Contact(name, phoneNumber, email, category));
+    }
+    
+    /**
+     * Copy of this contact with a different email
+     */
+    public Contact withEmail(String email) {
+        return sameName(new Contact(name, phoneNumber, email, category));
+    }
+    
+    // The copy has the same name, so it can reuse the cached name keys
+    private Contact sameName(Contact copy) {
+        copy.foldedName = foldedName;
+        copy.nameCollationKey = nameCollationKey;
+        return copy;
+    }
+    
+    /**
+     * Fold any text the same way names are folded (for queries)
+     */
+    public static String foldName(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text.trim(), Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Collation key of any text, comparable with name collation keys
+     */
+    public static CollationKey collationKeyOf(String text) {
+        return COLLATOR.get().getCollationKey(text == null ? "" : text);
     }
     
     // toString method for easy display
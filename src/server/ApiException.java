@@ -0,0 +1,20 @@
+package server;
+
+/**
+ * A request that cannot be served, answered with the given HTTP status and {"error": message}
+ */
+final class ApiException extends Exception {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final int status;
+    
+    ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+    
+    int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,37 @@
+package server;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline is the point in time by which a request must be answered
+ * Measured with System.nanoTime, so changes to the wall clock never move it
+ */
+final class Deadline {
+    
+    private final long expiresAt;
+    
+    private Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    static Deadline afterMillis(long millis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+    
+    long remainingNanos() {
+        return expiresAt - System.nanoTime();
+    }
+    
+    boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+    
+    /**
+     * Throw once the deadline has passed - called between steps of long-running work
+     */
+    void check() throws DeadlineExceededException {
+        if (isExpired()) {
+            throw new DeadlineExceededException();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package server;
+
+import java.io.InterruptedIOException;
+
+/**
+ * Thrown when a request runs out of time
+ * An InterruptedIOException (like SocketTimeoutException), so it can leave a ContactSink mid-stream
+ */
+final class DeadlineExceededException extends InterruptedIOException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    DeadlineExceededException() {
+        super("deadline exceeded");
+    }
+}
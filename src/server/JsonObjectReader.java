@@ -0,0 +1,150 @@
+package server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal reader for the flat JSON objects the API accepts, e.g. {"name": "Asad", "email": null}
+ * Values must be strings or null - that is all a contact has.
+ * Malformed input throws IllegalArgumentException (answered 400 Bad Request)
+ */
+final class JsonObjectReader {
+    
+    private final String text;
+    private int pos;
+    
+    private JsonObjectReader(String text) {
+        this.text = text;
+    }
+    
+    static Map<String, String> parse(String text) {
+        JsonObjectReader reader = new JsonObjectReader(text);
+        reader.skipWhitespace();
+        Map<String, String> fields = reader.readObject();
+        reader.skipWhitespace();
+        if (reader.pos != text.length()) {
+            throw reader.error("Unexpected text after the object");
+        }
+        return fields;
+    }
+    
+    private Map<String, String> readObject() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return fields;
+        }
+        while (true) {
+            skipWhitespace();
+            String key = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            fields.put(key, readValue());
+            skipWhitespace();
+            char c = next();
+            if (c == '}') {
+                return fields;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+    
+    private String readValue() {
+        if (text.startsWith("null", pos)) {
+            pos += 4;
+            return null;
+        }
+        if (peek() != '"') {
+            throw error("Expected a string or null");
+        }
+        return readString();
+    }
+    
+    private String readString() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c < 0x20) {
+                throw error("Control character in string");
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            char escaped = next();
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    value.append(escaped);
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'u':
+                    if (pos + 4 > text.length()) {
+                        throw error("Unexpected end of JSON");
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid \\u escape");
+                    }
+                    pos += 4;
+                    break;
+                default:
+                    throw error("Invalid escape \\" + escaped);
+            }
+        }
+    }
+    
+    private void skipWhitespace() {
+        while (pos < text.length() && " \t\r\n".indexOf(text.charAt(pos)) >= 0) {
+            pos++;
+        }
+    }
+    
+    private char peek() {
+        if (pos >= text.length()) {
+            throw error("Unexpected end of JSON");
+        }
+        return text.charAt(pos);
+    }
+    
+    private char next() {
+        char c = peek();
+        pos++;
+        return c;
+    }
+    
+    private void expect(char c) {
+        if (next() != c) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+    
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos);
+    }
+}
@@ -0,0 +1,583 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import database.ContactFilter;
+import database.ContactSink;
+import datastructure.ContactSnapshot;
+import datastructure.PhonebookManager;
+import datastructure.StorageMode;
+import main.PhonebookApp;
+import model.Contact;
+import transfer.ContactExporter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * PhonebookServer exposes the phonebook over HTTP/JSON (for PBX and other integrations)
+ * Built on the JDK's HttpServer with one virtual thread per request, so tens of thousands of
+ * concurrent requests cost a small heap-allocated stack each instead of a platform thread each
+ *
+ * Endpoints:
+ *   GET    /contacts                   every contact in list order (streamed)
+ *   GET    /contacts/{phone}           one contact
+ *   POST   /contacts                   add    {"name", "phone", "email", "category"}
+ *   PUT    /contacts/{phone}           update {"phone", "email"} - missing fields stay unchanged
+ *   DELETE /contacts/{phone}           delete
+ *   GET    /categories                 category names
+ *   GET    /categories/{category}      contacts of one category (streamed)
+ *   GET    /search?name= | prefix= | suffix= | fuzzy= | soundsLike= | text=   (&limit=, default 20)
+ *
+ * Every request has a deadline (--deadline=, shortened per request with the X-Deadline-Ms header).
+ * A request still waiting on the phonebook at its deadline is answered 504 Gateway Timeout;
+ * a stream that runs out of time ends early with "complete": false.
+ * A client that stops reading its response for a whole deadline is disconnected.
+ */
+public class PhonebookServer {
+    
+    public static final int DEFAULT_PORT = 8080;
+    public static final long DEFAULT_DEADLINE_MS = 2000;
+    
+    private static final String DEADLINE_HEADER = "X-Deadline-Ms";
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final int BACKLOG = 1024;                  // connections queued by the OS before accept
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 1000;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
+    private static final int DEADLINE_CHECK_INTERVAL = 256;   // contacts streamed between deadline checks
+    private static final String[] SEARCH_KINDS = {"name", "prefix", "suffix", "fuzzy", "soundsLike", "text"};
+    
+    private final PhonebookManager phonebook;
+    private final long deadlineMillis;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService writeTimeouts = newWriteTimeouts();
+    private final HttpServer server;
+    
+    private interface Route {
+        void serve(HttpExchange exchange, Deadline deadline) throws IOException, ApiException;
+    }
+    
+    public PhonebookServer(PhonebookManager phonebook, int port, long deadlineMillis) throws IOException {
+        this.phonebook = phonebook;
+        this.deadlineMillis = deadlineMillis;
+        this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        server.setExecutor(executor);
+        server.createContext("/contacts", exchange -> handle(exchange, this::contacts));
+        server.createContext("/categories", exchange -> handle(exchange, this::categories));
+        server.createContext("/search", exchange -> handle(exchange, this::search));
+    }
+    
+    public void start() {
+        server.start();
+        System.out.println("✅ Phonebook server listening on port " + getPort()
+                           + " (deadline " + deadlineMillis + " ms, " + phonebook.getStorageMode() + ")");
+    }
+    
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    /**
+     * Stop accepting requests, give running exchanges up to a second to finish
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        writeTimeouts.shutdownNow();
+        System.out.println("✅ Phonebook server stopped");
+    }
+    
+    /**
+     * Server options, plus the storage options of main.PhonebookApp (--db=, --profile=, --storage=, --write-behind):
+     *   --port=8080          listening port (default 8080)
+     *   --deadline=500ms     longest time a request may take (default 2000ms)
+     */
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        long deadline = DEFAULT_DEADLINE_MS;
+        
+        for (String arg : args) {
+            try {
+                if (arg.startsWith("--port=")) {
+                    port = Integer.parseInt(arg.substring("--port=".length()).trim());
+                } else if (arg.startsWith("--deadline=")) {
+                    String value = arg.substring("--deadline=".length()).trim().toLowerCase();
+                    deadline = Long.parseLong(value.endsWith("ms") ? value.substring(0, value.length() - 2) : value);
+                }
+            } catch (NumberFormatException e) {
+                System.out.println("❌ Invalid option: " + arg);
+            }
+        }
+        
+        PhonebookManager phonebook = PhonebookApp.createPhonebook(args);
+        PhonebookApp.configureWriteBehind(phonebook, args);
+        
+        try {
+            PhonebookServer server = new PhonebookServer(phonebook, port, deadline);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop();
+                phonebook.closeDatabase();
+            }));
+            server.start();
+        } catch (IOException e) {
+            System.out.println("❌ Could not start server: " + e.getMessage());
+            phonebook.closeDatabase();
+        }
+    }
+    
+    // Routes
+    
+    private void contacts(HttpExchange exchange, Deadline deadline) throws IOException, ApiException {
+        String phone = pathParameter(exchange, "/contacts");
+        String method = exchange.getRequestMethod();
+        
+        if (phone == null) {
+            switch (method) {
+                case "GET":
+                    streamContacts(exchange, deadline, null);
+                    return;
+                case "POST":
+                    addContact(exchange, deadline);
+                    return;
+                default:
+                    throw methodNotAllowed(method);
+            }
+        }
+        
+        switch (method) {
+            case "GET":
+                getContact(exchange, deadline, phone);
+                return;
+            case "PUT":
+                updateContact(exchange, deadline, phone);
+                return;
+            case "DELETE":
+                if (!withinDeadline(deadline, () -> phonebook.deleteContact(phone, true))) {
+                    throw notFound(phone);
+                }
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            default:
+                throw methodNotAllowed(method);
+        }
+    }
+    
+    private void getContact(HttpExchange exchange, Deadline deadline, String phone) throws IOException, ApiException {
+        Contact contact;
+        if (phonebook.getStorageMode() == StorageMode.IN_MEMORY) {
+            // Lock-free O(log n) lookup in the published snapshot - it cannot block, so no hand-off
+            contact = phonebook.searchByPhone(phone);
+        } else {
+            contact = withinDeadline(deadline, () -> phonebook.searchByPhone(phone));
+        }
+        if (contact == null) {
+            throw notFound(phone);
+        }
+        sendJson(exchange, 200, contactJson(contact));
+    }
+    
+    private void addContact(HttpExchange exchange, Deadline deadline) throws IOException, ApiException {
+        Map<String, String> body = readBody(exchange);
+        String name = required(body, "name");
+        String phone = required(body, "phone");
+        String category = canonicalCategory(required(body, "category"));
+        if (category == null) {
+            throw new ApiException(400, "Invalid category: use Family, Friends or Work");
+        }
+        String email = body.get("email") == null ? "" : body.get("email").trim();
+        
+        Contact contact = new Contact(name, phone, email, category);
+        if (!withinDeadline(deadline, () -> phonebook.addContact(contact))) {
+            throw withinDeadline(deadline, () -> phonebook.isDuplicate(phone))
+                    ? new ApiException(409, "A contact with phone number " + phone + " already exists")
+                    : new ApiException(500, "Contact could not be saved");
+        }
+        sendJson(exchange, 201, contactJson(contact));
+    }
+    
+    private void updateContact(HttpExchange exchange, Deadline deadline, String phone) throws IOException, ApiException {
+        Map<String, String> body = readBody(exchange);
+        String newPhone = body.get("phone") == null || body.get("phone").trim().isEmpty() ? null : body.get("phone").trim();
+        String newEmail = body.get("email") == null ? null : body.get("email").trim();
+        if (newPhone == null && newEmail == null) {
+            throw new ApiException(400, "Nothing to update: send \"phone\" and/or \"email\"");
+        }
+        
+        if (!withinDeadline(deadline, () -> phonebook.isDuplicate(phone))) {
+            throw notFound(phone);
+        }
+        if (!withinDeadline(deadline, () -> phonebook.updateContact(phone, true, newPhone, newEmail))) {
+            throw newPhone != null && withinDeadline(deadline, () -> phonebook.isDuplicate(newPhone))
+                    ? new ApiException(409, "A contact with phone number " + newPhone + " already exists")
+                    : new ApiException(500, "Contact could not be updated");
+        }
+        
+        String current = newPhone != null ? newPhone : phone;
+        Contact updated = withinDeadline(deadline, () -> phonebook.searchByPhone(current));
+        if (updated == null) {
+            exchange.sendResponseHeaders(204, -1);   // deleted by another request in the meantime
+        } else {
+            sendJson(exchange, 200, contactJson(updated));
+        }
+    }
+    
+    private void categories(HttpExchange exchange, Deadline deadline) throws IOException, ApiException {
+        requireGet(exchange);
+        String requested = pathParameter(exchange, "/categories");
+        
+        if (requested == null) {
+            StringWriter json = new StringWriter();
+            json.write("{\"categories\": [");
+            String[] categories = phonebook.getValidCategories();
+            for (int i = 0; i < categories.length; i++) {
+                json.write(i == 0 ? "" : ", ");
+                ContactExporter.writeJsonString(json, categories[i]);
+            }
+            json.write("]}\n");
+            sendJson(exchange, 200, json.toString());
+            return;
+        }
+        
+        String category = canonicalCategory(requested);
+        if (category == null) {
+            throw new ApiException(404, "No such category: " + requested);
+        }
+        streamContacts(exchange, deadline, category);
+    }
+    
+    private void search(HttpExchange exchange, Deadline deadline) throws IOException, ApiException {
+        requireGet(exchange);
+        Map<String, String> query = queryParameters(exchange);
+        
+        int limit = DEFAULT_SEARCH_LIMIT;
+        if (query.containsKey("limit")) {
+            try {
+                limit = Integer.parseInt(query.get("limit"));
+            } catch (NumberFormatException e) {
+                throw new ApiException(400, "Invalid limit: " + query.get("limit"));
+            }
+            if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+                throw new ApiException(400, "limit must be between 1 and " + MAX_SEARCH_LIMIT);
+            }
+        }
+        
+        String kind = null;
+        for (String candidate : SEARCH_KINDS) {
+            if (query.containsKey(candidate)) {
+                if (kind != null) {
+                    throw new ApiException(400, "Use one search parameter at a time");
+                }
+                kind = candidate;
+            }
+        }
+        if (kind == null) {
+            throw new ApiException(400, "Missing search parameter: name, prefix, suffix, fuzzy, soundsLike or text");
+        }
+        
+        String term = query.get(kind);
+        int max = limit;
+        List<Contact> results;
+        switch (kind) {
+            case "name":
+                results = withinDeadline(deadline, () -> phonebook.searchAllByName(term));
+                break;
+            case "prefix":
+                results = withinDeadline(deadline, () -> phonebook.suggest(term, max));
+                break;
+            case "suffix":
+                results = withinDeadline(deadline, () -> phonebook.searchByPhoneSuffix(term, max));
+                break;
+            case "fuzzy":
+                results = withinDeadline(deadline, () -> phonebook.fuzzySearchByName(term, max));
+                break;
+            case "soundsLike":
+                results = withinDeadline(deadline, () -> phonebook.searchSoundsLike(term, max));
+                break;
+            default:
+                results = withinDeadline(deadline, () -> phonebook.fullTextSearch(term, max));
+        }
+        if (results.size() > limit) {
+            results = results.subList(0, limit);   // only the name search is not limited by the phonebook itself
+        }
+        sendJson(exchange, 200, contactsJson(results));
+    }
+    
+    // Request handling
+    
+    /**
+     * Run one route and turn its failures into JSON error responses
+     */
+    private void handle(HttpExchange exchange, Route route) {
+        try {
+            route.serve(exchange, deadlineFor(exchange));
+        } catch (ApiException e) {
+            sendError(exchange, e.getStatus(), e.getMessage());
+        } catch (DeadlineExceededException e) {
+            sendError(exchange, 504, "deadline exceeded");
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (IOException e) {
+            // Usually the client hung up - nothing left to answer
+            System.err.println("⚠️ Request " + exchange.getRequestURI() + " failed: " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("❌ Request " + exchange.getRequestURI() + " failed: " + e);
+            sendError(exchange, 500, "Internal server error");
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    /**
+     * The server's deadline, or the client's X-Deadline-Ms if that is shorter
+     */
+    private Deadline deadlineFor(HttpExchange exchange) throws ApiException {
+        String requested = exchange.getRequestHeaders().getFirst(DEADLINE_HEADER);
+        if (requested == null) {
+            return Deadline.afterMillis(deadlineMillis);
+        }
+        try {
+            long millis = Long.parseLong(requested.trim());
+            if (millis > 0) {
+                return Deadline.afterMillis(Math.min(millis, deadlineMillis));
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new ApiException(400, "Invalid " + DEADLINE_HEADER + " header: " + requested);
+    }
+    
+    /**
+     * Run a phonebook call on its own virtual thread and wait for it no longer than the deadline
+     * A call that misses the deadline is answered 504 but keeps running to completion: the phonebook
+     * applies every change atomically, so a timed-out write is either fully applied or not at all
+     */
+    private <T> T withinDeadline(Deadline deadline, Callable<T> call) throws IOException {
+        deadline.check();
+        Future<T> future = executor.submit(call);
+        try {
+            return future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new DeadlineExceededException();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Request interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+    
+    /**
+     * Stream contacts as {"contacts": [...], "count": n, "complete": true}
+     * Contacts are written as they are read (chunked encoding), so the response never has to fit in memory;
+     * past the deadline the array is closed early and "complete" is false
+     */
+    private void streamContacts(HttpExchange exchange, Deadline deadline, String category) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, 0);
+        
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(responseBody(exchange), UTF_8), STREAM_BUFFER_SIZE)) {
+            writer.write("{\"contacts\": [");
+            long[] count = {0};
+            ContactSink sink = contact -> {
+                if (count[0] % DEADLINE_CHECK_INTERVAL == 0) {
+                    deadline.check();
+                }
+                writer.write(count[0] == 0 ? "\n  " : ",\n  ");
+                ContactExporter.writeJson(writer, contact);
+                count[0]++;
+            };
+            
+            boolean complete = true;
+            try {
+                if (phonebook.getStorageMode() == StorageMode.IN_MEMORY) {
+                    // One snapshot: a consistent point-in-time list however long the stream takes
+                    ContactSnapshot snapshot = phonebook.snapshot();
+                    for (Contact contact : category == null ? snapshot.getContacts() : snapshot.getContactsByCategory(category)) {
+                        sink.accept(contact);
+                    }
+                } else {
+                    phonebook.streamContacts(new ContactFilter(category, null, null),
+                                             deadline.remainingNanos(), TimeUnit.NANOSECONDS, sink);
+                }
+            } catch (InterruptedIOException e) {
+                // Our own deadline check, or no database reader came free before the deadline
+                if (!deadline.isExpired()) {
+                    throw e;
+                }
+                complete = false;
+            }
+            
+            writer.write(count[0] == 0 ? "]" : "\n]");
+            writer.write(", \"count\": " + count[0] + ", \"complete\": " + complete);
+            if (!complete) {
+                writer.write(", \"error\": \"deadline exceeded\"");
+            }
+            writer.write("}\n");
+        }
+    }
+    
+    private static Map<String, String> readBody(HttpExchange exchange) throws IOException, ApiException {
+        byte[] body = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            throw new ApiException(413, "Request body larger than " + MAX_BODY_BYTES + " bytes");
+        }
+        return JsonObjectReader.parse(new String(body, UTF_8));
+    }
+    
+    private static String required(Map<String, String> body, String field) throws ApiException {
+        String value = body.get(field);
+        if (value == null || value.trim().isEmpty()) {
+            throw new ApiException(400, "Missing field: " + field);
+        }
+        return value.trim();
+    }
+    
+    // Valid categories match case-insensitively; contacts are stored under the canonical spelling
+    private String canonicalCategory(String category) {
+        for (String valid : phonebook.getValidCategories()) {
+            if (valid.equalsIgnoreCase(category.trim())) {
+                return valid;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * The path segment after the context, e.g. "+91 98765" for /contacts/+91%2098765 (null if none)
+     */
+    private static String pathParameter(HttpExchange exchange, String context) throws ApiException {
+        String rest = exchange.getRequestURI().getPath().substring(context.length());
+        if (rest.isEmpty() || rest.equals("/")) {
+            return null;
+        }
+        if (rest.charAt(0) != '/') {
+            throw new ApiException(404, "Not found: " + exchange.getRequestURI().getPath());
+        }
+        return rest.substring(1);
+    }
+    
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), UTF_8);
+            parameters.putIfAbsent(key, value);
+        }
+        return parameters;
+    }
+    
+    private static void requireGet(HttpExchange exchange) throws ApiException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            throw methodNotAllowed(exchange.getRequestMethod());
+        }
+    }
+    
+    private static ApiException methodNotAllowed(String method) {
+        return new ApiException(405, "Method not allowed: " + method);
+    }
+    
+    private static ApiException notFound(String phone) {
+        return new ApiException(404, "No contact with phone number " + phone);
+    }
+    
+    // Responses
+    
+    private static String contactJson(Contact contact) throws IOException {
+        StringWriter json = new StringWriter();
+        ContactExporter.writeJson(json, contact);
+        json.write('\n');
+        return json.toString();
+    }
+    
+    private static String contactsJson(List<Contact> contacts) throws IOException {
+        StringWriter json = new StringWriter();
+        json.write("{\"contacts\": [");
+        for (int i = 0; i < contacts.size(); i++) {
+            json.write(i == 0 ? "\n  " : ",\n  ");
+            ContactExporter.writeJson(json, contacts.get(i));
+        }
+        json.write(contacts.isEmpty() ? "]" : "\n]");
+        json.write(", \"count\": " + contacts.size() + "}\n");
+        return json.toString();
+    }
+    
+    private void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        responseBody(exchange).write(bytes);
+    }
+    
+    /**
+     * The response body with a time limit on every write - a client that stops reading cannot hold
+     * the request thread (or the database reader it streams from) forever
+     */
+    private OutputStream responseBody(HttpExchange exchange) {
+        return new TimedOutputStream(exchange.getResponseBody(), writeTimeouts, deadlineMillis);
+    }
+    
+    // One daemon thread fires the write timeouts; cancelled timeouts are dropped at once, not kept until due
+    private static ScheduledExecutorService newWriteTimeouts() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "phonebook-write-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+    
+    private void sendError(HttpExchange exchange, int status, String message) {
+        if (exchange.getResponseCode() != -1) {
+            return;   // headers already sent - the response can only be cut short
+        }
+        try {
+            StringWriter json = new StringWriter();
+            json.write("{\"error\": ");
+            ContactExporter.writeJsonString(json, message);
+            json.write("}\n");
+            sendJson(exchange, status, json.toString());
+        } catch (IOException e) {
+            // Client already gone
+        }
+    }
+}
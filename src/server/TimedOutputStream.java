@@ -0,0 +1,106 @@
+package server;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TimedOutputStream gives every write to a response body a time limit
+ * The exchange's socket channel blocks while the client is not reading; a write still blocked at
+ * its limit is interrupted, which closes the channel, and fails with an InterruptedIOException.
+ * On JDK 21 the exchange's stream writes inside a synchronized block, so a blocked write also pins
+ * its virtual thread's carrier - another reason it must not block for longer than the limit
+ *
+ * Used by one request thread at a time.
+ */
+final class TimedOutputStream extends FilterOutputStream {
+    
+    private interface Write {
+        void run() throws IOException;
+    }
+    
+    private final ScheduledExecutorService watchdog;
+    private final long timeoutMillis;
+    private final Thread writer = Thread.currentThread();
+    
+    // Guarded by this: the watchdog only interrupts a write that is still in progress
+    private boolean writing;
+    private boolean timedOut;
+    
+    TimedOutputStream(OutputStream out, ScheduledExecutorService watchdog, long timeoutMillis) {
+        super(out);
+        this.watchdog = watchdog;
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    @Override
+    public void write(int b) throws IOException {
+        timed(() -> out.write(b));
+    }
+    
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        timed(() -> out.write(b, off, len));
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        timed(out::flush);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        timed(out::close);
+    }
+    
+    private void timed(Write write) throws IOException {
+        if (timedOut()) {
+            throw new InterruptedIOException("Client stopped reading the response");
+        }
+        startWrite();
+        ScheduledFuture<?> timeout = watchdog.schedule(this::timeOut, timeoutMillis, TimeUnit.MILLISECONDS);
+        IOException failure = null;
+        try {
+            write.run();
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            timeout.cancel(false);
+            endWrite();
+        }
+        if (timedOut()) {
+            throw new InterruptedIOException("Client stopped reading the response for " + timeoutMillis + " ms");
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    private synchronized void startWrite() {
+        writing = true;
+    }
+    
+    // Clears an interrupt the watchdog delivered, so it cannot leak into what the thread does next
+    private synchronized void endWrite() {
+        writing = false;
+        if (timedOut) {
+            Thread.interrupted();
+        }
+    }
+    
+    private synchronized boolean timedOut() {
+        return timedOut;
+    }
+    
+    // Watchdog thread
+    private synchronized void timeOut() {
+        if (writing) {
+            timedOut = true;
+            writer.interrupt();
+        }
+    }
+}
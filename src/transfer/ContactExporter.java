@@ -0,0 +1,185 @@
+package transfer;
+
+import database.ContactFilter;
+import datastructure.PhonebookManager;
+import model.Contact;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ContactExporter writes the phonebook to CSV, vCard or JSON without materializing it
+ * Rows flow from a forward-only database cursor straight into a buffered NIO channel writer,
+ * so exporting millions of contacts uses constant heap.
+ */
+public class ContactExporter {
+    
+    private static final int BUFFER_SIZE = 1 << 16;
+    
+    private final PhonebookManager phonebook;
+    
+    public ContactExporter(PhonebookManager phonebook) {
+        this.phonebook = phonebook;
+    }
+    
+    /**
+     * Export to a file; the format and gzip compression follow the file name (e.g. contacts.csv.gz)
+     */
+    public long exportFile(Path file, ContactFilter filter) throws IOException {
+        String fileName = file.getFileName().toString();
+        FileFormat format = FileFormat.fromFileName(fileName);
+        if (format == null) {
+            throw new IOException("Unsupported export format: " + fileName + " (use .csv, .vcf or .json)");
+        }
+        return exportFile(file, format, filter, fileName.toLowerCase().endsWith(".gz"));
+    }
+    
+    /**
+     * Export matching contacts, returning how many were written
+     */
+    public long exportFile(Path file, FileFormat format, ContactFilter filter, boolean gzip) throws IOException {
+        long start = System.nanoTime();
+        
+        long count;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream raw = Channels.newOutputStream(channel);
+             OutputStream out = gzip ? new GZIPOutputStream(raw, BUFFER_SIZE) : raw;
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            count = export(writer, format, filter);
+        }
+        
+        System.out.println("✅ Exported " + count + " contacts to " + file.getFileName()
+                           + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return count;
+    }
+    
+    /**
+     * Export matching contacts to any writer
+     */
+    public long export(Writer writer, FileFormat format, ContactFilter filter) throws IOException {
+        switch (format) {
+            case CSV:
+                writer.write("name,phone,email,category\n");
+                return phonebook.streamContacts(filter, contact -> writeCsv(writer, contact));
+                
+            case VCARD:
+                return phonebook.streamContacts(filter, contact -> writeVCard(writer, contact));
+                
+            case JSON:
+                writer.write("[");
+                boolean[] first = {true};
+                long count = phonebook.streamContacts(filter, contact -> {
+                    writer.write(first[0] ? "\n  " : ",\n  ");
+                    first[0] = false;
+                    writeJson(writer, contact);
+                });
+                writer.write(count == 0 ? "]\n" : "\n]\n");
+                return count;
+                
+            default:
+                throw new IOException("Unsupported export format: " + format);
+        }
+    }
+    
+    // CSV
+    
+    private static void writeCsv(Writer writer, Contact contact) throws IOException {
+        writer.write(csvField(contact.getName()));
+        writer.write(',');
+        writer.write(csvField(contact.getPhoneNumber()));
+        writer.write(',');
+        writer.write(csvField(contact.getEmail()));
+        writer.write(',');
+        writer.write(csvField(contact.getCategory()));
+        writer.write('\n');
+    }
+    
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+    
+    // vCard 3.0
+    
+    private static void writeVCard(Writer writer, Contact contact) throws IOException {
+        writer.write("BEGIN:VCARD\nVERSION:3.0\n");
+        writer.write("FN:" + vCardText(contact.getName()) + "\n");
+        writer.write("N:" + vCardText(contact.getName()) + ";;;;\n");
+        writer.write("TEL:" + vCardText(contact.getPhoneNumber()) + "\n");
+        if (contact.getEmail() != null && !contact.getEmail().isEmpty()) {
+            writer.write("EMAIL:" + vCardText(contact.getEmail()) + "\n");
+        }
+        writer.write("CATEGORIES:" + vCardText(contact.getCategory()) + "\n");
+        writer.write("END:VCARD\n");
+    }
+    
+    private static String vCardText(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace(",", "\\,").replace(";", "\\;").replace("\n", "\\n");
+    }
+    
+    // JSON
+    
+    public static void writeJson(Writer writer, Contact contact) throws IOException {
+        writer.write("{\"name\": ");
+        writeJsonString(writer, contact.getName());
+        writer.write(", \"phone\": ");
+        writeJsonString(writer, contact.getPhoneNumber());
+        writer.write(", \"email\": ");
+        writeJsonString(writer, contact.getEmail());
+        writer.write(", \"category\": ");
+        writeJsonString(writer, contact.getCategory());
+        writer.write('}');
+    }
+    
+    public static void writeJsonString(Writer writer, String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+}
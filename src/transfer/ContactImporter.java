@@ -0,0 +1,251 @@
+package transfer;
+
+import database.BatchResult;
+import database.DatabaseManager;
+import datastructure.PhonebookManager;
+import model.Contact;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * ContactImporter streams large CSV / vCard files into the phonebook
+ * DSA Concept: Producer-Consumer pipeline over bounded queues
+ *
+ *   read (1 thread) -> parse + normalize (N workers) -> dedupe + batched persist (caller thread)
+ *
+ * Records travel in fixed-size chunks through bounded queues, so memory stays flat
+ * no matter how big the file is. Duplicates are dropped against the phonebook's
+ * phone index before any database work; the rest is persisted with addContacts in batches.
+ * Records are not guaranteed to be stored in file order.
+ */
+public class ContactImporter {
+    
+    private static final int RECORDS_PER_CHUNK = 500;
+    private static final int QUEUE_CAPACITY = 16;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    // End-of-stream markers (compared by identity)
+    private static final List<String> END_OF_RECORDS = new ArrayList<>();
+    private static final ParsedChunk END_OF_PARSED = new ParsedChunk(new ArrayList<>(), 0, 0);
+    
+    private final PhonebookManager phonebook;
+    private final int workers;
+    private final int batchSize;
+    
+    public ContactImporter(PhonebookManager phonebook) {
+        this(phonebook, Runtime.getRuntime().availableProcessors(), DatabaseManager.DEFAULT_BATCH_SIZE);
+    }
+    
+    public ContactImporter(PhonebookManager phonebook, int workers, int batchSize) {
+        this.phonebook = phonebook;
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+    }
+    
+    /**
+     * Import a .csv or .vcf file (optionally .gz compressed)
+     */
+    public ImportReport importFile(Path file) throws IOException {
+        FileFormat format = FileFormat.fromFileName(file.getFileName().toString());
+        RecordFormat recordFormat;
+        if (format == FileFormat.CSV) {
+            recordFormat = new CsvRecordFormat();
+        } else if (format == FileFormat.VCARD) {
+            recordFormat = new VCardRecordFormat();
+        } else {
+            throw new IOException("Unsupported import format: " + file.getFileName() + " (use .csv or .vcf)");
+        }
+        
+        InputStream in = Files.newInputStream(file);
+        if (file.getFileName().toString().toLowerCase().endsWith(".gz")) {
+            in = new GZIPInputStream(in, 1 << 16);
+        }
+        
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16)) {
+            return run(reader, recordFormat);
+        }
+    }
+    
+    private ImportReport run(BufferedReader reader, RecordFormat format) throws IOException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport();
+        
+        BlockingQueue<List<String>> rawQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        BlockingQueue<ParsedChunk> parsedQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        
+        ExecutorService pool = Executors.newFixedThreadPool(workers + 1, task -> {
+            Thread thread = new Thread(task, "contact-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        try {
+            // Stage 1: split the stream into raw records
+            pool.execute(() -> {
+                try {
+                    List<String> chunk = new ArrayList<>(RECORDS_PER_CHUNK);
+                    String record;
+                    while ((record = format.nextRecord(reader)) != null) {
+                        chunk.add(record);
+                        if (chunk.size() == RECORDS_PER_CHUNK) {
+                            rawQueue.put(chunk);
+                            chunk = new ArrayList<>(RECORDS_PER_CHUNK);
+                        }
+                    }
+                    if (!chunk.isEmpty()) {
+                        rawQueue.put(chunk);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    for (int i = 0; i < workers; i++) {
+                        putQuietly(rawQueue, END_OF_RECORDS);
+                    }
+                }
+            });
+            
+            // Stage 2: parse and normalize in parallel
+            String[] categories = phonebook.getValidCategories();
+            for (int w = 0; w < workers; w++) {
+                pool.execute(() -> {
+                    try {
+                        List<String> chunk;
+                        while ((chunk = rawQueue.take()) != END_OF_RECORDS) {
+                            List<Contact> parsed = new ArrayList<>(chunk.size());
+                            for (String record : chunk) {
+                                Contact contact = normalize(format.parse(record), categories);
+                                if (contact != null) {
+                                    parsed.add(contact);
+                                }
+                            }
+                            parsedQueue.put(new ParsedChunk(parsed, chunk.size(), chunk.size() - parsed.size()));
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        putQuietly(parsedQueue, END_OF_PARSED);
+                    }
+                });
+            }
+            
+            // Stage 3: dedupe and persist in batches (single thread owns the phonebook)
+            List<Contact> batch = new ArrayList<>(batchSize);
+            HashSet<String> batchPhones = new HashSet<>();
+            int finishedWorkers = 0;
+            
+            while (finishedWorkers < workers) {
+                ParsedChunk chunk = parsedQueue.take();
+                if (chunk == END_OF_PARSED) {
+                    finishedWorkers++;
+                    continue;
+                }
+                
+                report.addRecordsRead(chunk.recordCount);
+                report.addInvalid(chunk.invalidCount);
+                
+                for (Contact contact : chunk.contacts) {
+                    if (phonebook.isDuplicate(contact.getPhoneNumber()) || !batchPhones.add(contact.getPhoneNumber())) {
+                        report.addDuplicates(1);
+                        continue;
+                    }
+                    batch.add(contact);
+                    if (batch.size() >= batchSize) {
+                        persist(batch, report);
+                        batchPhones.clear();
+                    }
+                }
+            }
+            persist(batch, report);
+        
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        if (failure.get() != null) {
+            throw new IOException("Import failed: " + failure.get().getMessage(), failure.get());
+        }
+        
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        System.out.println("✅ Import finished!\n" + report);
+        return report;
+    }
+    
+    private void persist(List<Contact> batch, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        BatchResult result = phonebook.addContacts(batch);
+        report.addInserted(result.getInsertedCount());
+        report.addRejectedByDatabase(result.getRejectedCount());
+        batch.clear();
+    }
+    
+    /**
+     * Trim fields, collapse spaces in names and map the category onto a valid one (case-insensitive)
+     * Returns null for contacts that cannot be stored
+     */
+    private static Contact normalize(Contact contact, String[] categories) {
+        if (contact == null) {
+            return null;
+        }
+        
+        String name = WHITESPACE.matcher(contact.getName().trim()).replaceAll(" ");
+        String phone = contact.getPhoneNumber().trim();
+        String email = contact.getEmail() == null ? "" : contact.getEmail().trim();
+        
+        String category = null;
+        for (String valid : categories) {
+            if (valid.equalsIgnoreCase(contact.getCategory() == null ? "" : contact.getCategory().trim())) {
+                category = valid;
+                break;
+            }
+        }
+        
+        if (name.isEmpty() || phone.isEmpty() || category == null) {
+            return null;
+        }
+        return new Contact(name, phone, email, category);
+    }
+    
+    private static <T> void putQuietly(BlockingQueue<T> queue, T item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Output of the parse stage for one chunk of raw records
+     */
+    private static class ParsedChunk {
+        final List<Contact> contacts;
+        final int recordCount;
+        final int invalidCount;
+        
+        ParsedChunk(List<Contact> contacts, int recordCount, int invalidCount) {
+            this.contacts = contacts;
+            this.recordCount = recordCount;
+            this.invalidCount = invalidCount;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package transfer;
+
+import model.Contact;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV contacts: name,phone,email,category
+ * A header row is optional; when present its column names decide the column order.
+ * Quoted fields may contain commas, doubled quotes and line breaks.
+ */
+class CsvRecordFormat implements RecordFormat {
+    
+    // Longest record accepted - a quoted field may span lines, but not the rest of the file
+    private static final int MAX_RECORD_CHARS = 64 * 1024;
+    
+    // Column positions (defaults used when the file has no header)
+    private int nameCol = 0;
+    private int phoneCol = 1;
+    private int emailCol = 2;
+    private int categoryCol = 3;
+    
+    private boolean firstRecord = true;
+    private final ArrayDeque<String> pendingLines = new ArrayDeque<>();   // lines read past a skipped record, read again next
+    private int lineNumber;
+    
+    @Override
+    public String nextRecord(BufferedReader reader) throws IOException {
+        String record = readRecord(reader);
+        
+        if (firstRecord) {
+            firstRecord = false;
+            if (record != null && applyHeader(splitFields(record))) {
+                record = readRecord(reader);
+            }
+        }
+        return record;
+    }
+    
+    @Override
+    public Contact parse(String record) {
+        List<String> fields = splitFields(record);
+        String name = field(fields, nameCol);
+        String phone = field(fields, phoneCol);
+        if (name.isEmpty() || phone.isEmpty()) {
+            return null;
+        }
+        return new Contact(name, phone, field(fields, emailCol), field(fields, categoryCol));
+    }
+    
+    /**
+     * A record ends at a line break outside quotes
+     * Quote parity is tracked line by line; a quoted field left open (a stray quote) would otherwise
+     * swallow the rest of the file, so a record longer than MAX_RECORD_CHARS, or still open at the end
+     * of the file, is skipped instead: only its first line counts as invalid and the lines after it are
+     * read again as records of their own
+     */
+    private String readRecord(BufferedReader reader) throws IOException {
+        String line = readLine(reader);
+        while (line != null && line.trim().isEmpty()) {
+            line = readLine(reader);
+        }
+        if (line == null) {
+            return null;
+        }
+        
+        int startLine = lineNumber;
+        StringBuilder record = new StringBuilder(line);
+        List<String> continuation = new ArrayList<>();
+        boolean inQuotes = countQuotes(line) % 2 != 0;
+        while (inQuotes) {
+            String more = readLine(reader);
+            if (more == null && continuation.isEmpty()) {
+                break;   // the last line of the file - keep its open field as it is
+            }
+            if (more == null || record.length() + 1 + more.length() > MAX_RECORD_CHARS) {
+                if (more != null) {
+                    continuation.add(more);
+                }
+                unread(continuation);
+                System.out.println("⚠️ Skipped CSV record at line " + startLine + ": quoted field "
+                                   + (more == null ? "never closes" : "runs past " + MAX_RECORD_CHARS + " characters")
+                                   + " (unbalanced quote?)");
+                return "";   // counted as an invalid record
+            }
+            continuation.add(more);
+            record.append('\n').append(more);
+            inQuotes ^= countQuotes(more) % 2 != 0;
+        }
+        return record.toString();
+    }
+    
+    private String readLine(BufferedReader reader) throws IOException {
+        String line = pendingLines.poll();
+        if (line == null) {
+            line = reader.readLine();
+        }
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+    
+    // Lines are read again in their original order, with their original line numbers
+    private void unread(List<String> lines) {
+        for (int i = lines.size() - 1; i >= 0; i--) {
+            pendingLines.push(lines.get(i));
+        }
+        lineNumber -= lines.size();
+    }
+    
+    private boolean applyHeader(List<String> header) {
+        int name = -1, phone = -1, email = -1, category = -1;
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim().toLowerCase();
+            if (column.equals("name") || column.equals("full name")) {
+                name = i;
+            } else if (column.equals("phone") || column.equals("phone number") || column.equals("phonenumber")) {
+                phone = i;
+            } else if (column.equals("email") || column.equals("e-mail")) {
+                email = i;
+            } else if (column.equals("category")) {
+                category = i;
+            }
+        }
+        if (name < 0 || phone < 0) {
+            return false; // not a header - treat as data
+        }
+        nameCol = name;
+        phoneCol = phone;
+        emailCol = email;
+        categoryCol = category;
+        return true;
+    }
+    
+    private static String field(List<String> fields, int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index).trim() : "";
+    }
+    
+    private static int countQuotes(CharSequence text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    static List<String> splitFields(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+        
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (inQuotes) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    inQuotes = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,41 @@
+package transfer;
+
+/**
+ * File formats supported by the import/export pipelines
+ */
+public enum FileFormat {
+    CSV(".csv"),
+    VCARD(".vcf"),
+    JSON(".json");
+    
+    private final String extension;
+    
+    FileFormat(String extension) {
+        this.extension = extension;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    /**
+     * Detect the format from a file name (a trailing ".gz" is ignored)
+     * Returns null if the extension is not recognised
+     */
+    public static FileFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase();
+        if (lower.endsWith(".gz")) {
+            lower = lower.substring(0, lower.length() - 3);
+        }
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".vcf") || lower.endsWith(".vcard")) {
+            return VCARD;
+        }
+        if (lower.endsWith(".json")) {
+            return JSON;
+        }
+        return null;
+    }
+}
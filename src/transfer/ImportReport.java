@@ -0,0 +1,72 @@
+package transfer;
+
+/**
+ * ImportReport summarises one run of the import pipeline
+ */
+public class ImportReport {
+    
+    private long recordsRead;
+    private long invalid;
+    private long duplicates;
+    private long inserted;
+    private long rejectedByDatabase;
+    private long elapsedMillis;
+    
+    void addRecordsRead(long count) {
+        recordsRead += count;
+    }
+    
+    void addInvalid(long count) {
+        invalid += count;
+    }
+    
+    void addDuplicates(long count) {
+        duplicates += count;
+    }
+    
+    void addInserted(long count) {
+        inserted += count;
+    }
+    
+    void addRejectedByDatabase(long count) {
+        rejectedByDatabase += count;
+    }
+    
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+    
+    public long getInvalid() {
+        return invalid;
+    }
+    
+    public long getDuplicates() {
+        return duplicates;
+    }
+    
+    public long getInserted() {
+        return inserted;
+    }
+    
+    public long getRejectedByDatabase() {
+        return rejectedByDatabase;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return "Records read: " + recordsRead + "\n" +
+               "Inserted: " + inserted + "\n" +
+               "Duplicates skipped: " + duplicates + "\n" +
+               "Invalid records: " + invalid + "\n" +
+               "Rejected by database: " + rejectedByDatabase + "\n" +
+               "Time: " + elapsedMillis + " ms";
+    }
+}
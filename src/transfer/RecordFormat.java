@@ -0,0 +1,23 @@
+package transfer;
+
+import model.Contact;
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * A text format the importer can stream
+ * Splitting the stream into records is sequential (reader stage);
+ * parsing a record into a contact is independent per record (parallel worker stage)
+ */
+interface RecordFormat {
+    
+    /**
+     * Read the next raw record, or null at end of input
+     */
+    String nextRecord(BufferedReader reader) throws IOException;
+    
+    /**
+     * Parse one raw record, or return null if it is not a usable contact
+     */
+    Contact parse(String record);
+}
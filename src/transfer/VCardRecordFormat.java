@@ -0,0 +1,113 @@
+package transfer;
+
+import model.Contact;
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * vCard contacts (BEGIN:VCARD ... END:VCARD)
+ * Uses FN (or N) for the name, the first TEL, the first EMAIL and the first CATEGORIES value.
+ * Folded lines (continuations starting with a space or tab) are unfolded.
+ */
+class VCardRecordFormat implements RecordFormat {
+    
+    @Override
+    public String nextRecord(BufferedReader reader) throws IOException {
+        String line;
+        
+        // Skip to the next card
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().equalsIgnoreCase("BEGIN:VCARD")) {
+                break;
+            }
+        }
+        if (line == null) {
+            return null;
+        }
+        
+        StringBuilder card = new StringBuilder();
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().equalsIgnoreCase("END:VCARD")) {
+                break;
+            }
+            if (!line.isEmpty() && (line.charAt(0) == ' ' || line.charAt(0) == '\t')) {
+                card.append(line, 1, line.length()); // unfold
+            } else {
+                if (card.length() > 0) {
+                    card.append('\n');
+                }
+                card.append(line);
+            }
+        }
+        return card.toString();
+    }
+    
+    @Override
+    public Contact parse(String record) {
+        String name = "", structuredName = "", phone = "", email = "", category = "";
+        
+        for (String line : record.split("\n")) {
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String property = line.substring(0, colon);
+            int semicolon = property.indexOf(';');
+            if (semicolon >= 0) {
+                property = property.substring(0, semicolon);
+            }
+            // Drop a group prefix such as "item1.TEL"
+            int dot = property.lastIndexOf('.');
+            if (dot >= 0) {
+                property = property.substring(dot + 1);
+            }
+            String value = line.substring(colon + 1).trim();
+            
+            switch (property.toUpperCase()) {
+                case "FN":
+                    name = unescape(value);
+                    break;
+                case "N":
+                    structuredName = structuredName(value);
+                    break;
+                case "TEL":
+                    if (phone.isEmpty()) {
+                        phone = value.startsWith("tel:") ? value.substring(4) : value;
+                    }
+                    break;
+                case "EMAIL":
+                    if (email.isEmpty()) {
+                        email = unescape(value);
+                    }
+                    break;
+                case "CATEGORIES":
+                    if (category.isEmpty()) {
+                        category = unescape(value.split("(?<!\\\\),")[0]);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        
+        if (name.isEmpty()) {
+            name = structuredName;
+        }
+        if (name.isEmpty() || phone.isEmpty()) {
+            return null;
+        }
+        return new Contact(name, phone, email, category);
+    }
+    
+    // N:Family;Given;Additional;Prefix;Suffix -> "Given Family"
+    private static String structuredName(String value) {
+        String[] parts = value.split(";", -1);
+        String family = parts.length > 0 ? unescape(parts[0]) : "";
+        String given = parts.length > 1 ? unescape(parts[1]) : "";
+        return (given + " " + family).trim();
+    }
+    
+    private static String unescape(String value) {
+        return value.replace("\\,", ",").replace("\\;", ";").replace("\\n", " ").replace("\\\\", "\\").trim();
+    }
+}
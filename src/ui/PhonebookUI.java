@@ -1,6 +1,8 @@
 package ui;
 
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -8,10 +10,33 @@ import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import model.Contact;
+import datastructure.ContactChange;
+import datastructure.ContactOrder;
 import datastructure.PhonebookManager;
+import datastructure.StorageMode;
+import database.ContactFilter;
+import database.ContactPage;
+import database.DatabaseManager;
+import database.PageKey;
+import database.ResultOrder;
+import database.StorageProfile;
+import transfer.ContactExporter;
+import transfer.ContactImporter;
+import transfer.ImportReport;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * JavaFX User Interface for Phonebook Application
@@ -20,20 +45,122 @@ import datastructure.PhonebookManager;
 public class PhonebookUI extends Application {
     
     private PhonebookManager phonebook;
+    private Stage stage;
+    private BorderPane mainLayout;
     private TableView<Contact> contactTable;
     private ObservableList<Contact> contactData;
     
+    // Keyset paging of the contact table - only one page is ever loaded
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGE_RELOADS = 3;                   // reloads of a page overtaken by changes it cannot replay
+    private String pageCategory;                                     // null = all categories
+    private PageKey pageStart;                                       // cursor the current page starts after (null = first page)
+    private final List<PageKey> previousPageStarts = new ArrayList<>();
+    private PageKey nextPageStart;
+    private Button prevPageBtn, nextPageBtn;
+    private Label pageLabel;
+    private boolean showingPage;                                     // false while search results are shown
+    private List<ContactChange> changesDuringLoad;                   // changes applied while a page loads (null = none loading)
+    
+    // Change feed from the phonebook, applied to the table at most once per pulse
+    private final ConcurrentLinkedQueue<ContactChange> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean changesScheduled = new AtomicBoolean();
+    private Label statsLabel;
+    
     // Form fields
     private TextField nameField, phoneField, emailField;
     private ComboBox<String> categoryCombo;
     
+    // Live typeahead suggestions under the search field
+    private ListView<Contact> suggestionList;
+    private static final int MAX_SUGGESTIONS = 8;
+    private static final Duration SUGGEST_DEBOUNCE = Duration.millis(150);
+    
+    // Queries run in the background: the table and the suggestions each show only their latest query
+    private QueryRunner queries;
+    private QueryRunner.Channel tableQueries;
+    private QueryRunner.Channel suggestQueries;
+    private Label latencyLabel;
+    private static final long SLOW_QUERY_MS = 200;
+    
     @Override
     public void start(Stage primaryStage) {
-        // Initialize phonebook manager
-        phonebook = new PhonebookManager();
+        stage = primaryStage;
+        
+        // Load the phonebook in the background, showing progress until it is ready
+        Task<PhonebookManager> loadTask = new Task<PhonebookManager>() {
+            @Override
+            protected PhonebookManager call() {
+                return new PhonebookManager(DatabaseManager.DEFAULT_DB_PATH, StorageProfile.BALANCED,
+                        StorageMode.IN_MEMORY, (step, done, total) -> {
+                            updateMessage(step + " (" + done + " / " + total + ")");
+                            updateProgress(done, total);
+                        });
+            }
+        };
+        
+        ProgressBar loadProgress = new ProgressBar();
+        loadProgress.setPrefWidth(300);
+        loadProgress.progressProperty().bind(loadTask.progressProperty());
+        Label loadLabel = new Label("Opening phonebook...");
+        loadLabel.textProperty().bind(loadTask.messageProperty());
+        VBox loadingBox = new VBox(10, new Label("📞 Loading contacts..."), loadProgress, loadLabel);
+        loadingBox.setAlignment(Pos.CENTER);
+        
+        primaryStage.setTitle("📞 Phonebook Management System - DSA Project");
+        primaryStage.setScene(new Scene(loadingBox, 400, 150));
+        primaryStage.show();
+        
+        loadTask.setOnSucceeded(e -> {
+            phonebook = loadTask.getValue();
+            showMainWindow();
+        });
+        loadTask.setOnFailed(e -> {
+            showAlert("Startup Failed", String.valueOf(loadTask.getException().getMessage()), Alert.AlertType.ERROR);
+            primaryStage.close();
+        });
+        
+        Thread loadThread = new Thread(loadTask, "phonebook-load");
+        loadThread.setDaemon(true);
+        loadThread.start();
+    }
+    
+    /**
+     * Build the main window once the phonebook is loaded
+     */
+    private void showMainWindow() {
+        Stage primaryStage = stage;
+        
+        queries = new QueryRunner(new QueryRunner.QueryListener() {
+            @Override
+            public void queryStarted(String description) {
+                latencyLabel.setText("⏳ " + description + "...");
+                latencyLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: gray;");
+            }
+            
+            @Override
+            public void queryFinished(String description, long elapsedMs) {
+                showLatency(description, elapsedMs);
+            }
+            
+            @Override
+            public void queryCancelled(String description) {
+                latencyLabel.setText("⏹️ " + description + " cancelled");
+                latencyLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: gray;");
+            }
+            
+            @Override
+            public void queryFailed(String description, Throwable error) {
+                latencyLabel.setText("❌ " + description + " failed");
+                latencyLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: red;");
+                showAlert("Error", description + " failed: " + error.getMessage(), Alert.AlertType.ERROR);
+            }
+        });
+        tableQueries = queries.channel();
+        suggestQueries = queries.channel();
         
         // Setup main layout
-        BorderPane mainLayout = new BorderPane();
+        mainLayout = new BorderPane();
         mainLayout.setPadding(new Insets(15));
         
         // Top: Title
@@ -63,15 +190,16 @@ public class PhonebookUI extends Application {
         Scene scene = new Scene(mainLayout, 1200, 700);
         
         // Setup stage
-        primaryStage.setTitle("📞 Phonebook Management System - DSA Project");
         primaryStage.setScene(scene);
         primaryStage.setOnCloseRequest(e -> {
+            queries.shutdown();
             phonebook.closeDatabase();
             System.out.println("Application closed successfully!");
         });
         primaryStage.show();
         
-        // Load initial data
+        // Load initial data, then follow changes as they happen
+        phonebook.addChangeListener(this::onContactsChanged);
         refreshTable();
     }
     
@@ -128,7 +256,17 @@ public class PhonebookUI extends Application {
         
         contactTable.getColumns().addAll(nameCol, phoneCol, emailCol, categoryCol);
         
-        vbox.getChildren().addAll(tableLabel, contactTable);
+        // Paging controls
+        prevPageBtn = new Button("◀ Previous");
+        prevPageBtn.setOnAction(e -> showPreviousPage());
+        nextPageBtn = new Button("Next ▶");
+        nextPageBtn.setOnAction(e -> showNextPage());
+        pageLabel = new Label();
+        
+        HBox pagingBar = new HBox(10, prevPageBtn, pageLabel, nextPageBtn);
+        pagingBar.setAlignment(Pos.CENTER);
+        
+        vbox.getChildren().addAll(tableLabel, contactTable, pagingBar);
         VBox.setVgrow(contactTable, Priority.ALWAYS);
         
         return vbox;
@@ -209,6 +347,32 @@ public class PhonebookUI extends Application {
         TextField searchField = new TextField();
         searchField.setPromptText("Enter name or phone");
         
+        // Live suggestions while typing (prefix search)
+        suggestionList = new ListView<>();
+        suggestionList.setPrefHeight(150);
+        suggestionList.setCellFactory(list -> new ListCell<Contact>() {
+            @Override
+            protected void updateItem(Contact contact, boolean empty) {
+                super.updateItem(contact, empty);
+                setText(empty || contact == null ? null : contact.getName() + "  •  " + contact.getPhoneNumber());
+            }
+        });
+        suggestionList.setOnMouseClicked(e -> showSuggestion(suggestionList.getSelectionModel().getSelectedItem()));
+        suggestionList.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.ENTER) {
+                showSuggestion(suggestionList.getSelectionModel().getSelectedItem());
+            }
+        });
+        setSuggestionsVisible(false);
+        
+        searchField.textProperty().addListener((obs, oldText, newText) -> updateSuggestions(newText));
+        searchField.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.DOWN && suggestionList.isVisible()) {
+                suggestionList.requestFocus();
+                suggestionList.getSelectionModel().selectFirst();
+            }
+        });
+        
         HBox searchButtons = new HBox(10);
         
         Button searchNameBtn = new Button("Search by Name");
@@ -217,9 +381,15 @@ public class PhonebookUI extends Application {
         Button searchPhoneBtn = new Button("Search by Phone");
         searchPhoneBtn.setOnAction(e -> handleSearch(searchField.getText(), true));
         
-        searchButtons.getChildren().addAll(searchNameBtn, searchPhoneBtn);
+        Button searchSuffixBtn = new Button("Ends With");
+        searchSuffixBtn.setOnAction(e -> handleSuffixSearch(searchField.getText()));
+        
+        Button searchTextBtn = new Button("Full Text");
+        searchTextBtn.setOnAction(e -> handleFullTextSearch(searchField.getText()));
         
-        vbox.getChildren().addAll(searchLabel, searchField, searchButtons);
+        searchButtons.getChildren().addAll(searchNameBtn, searchPhoneBtn, searchSuffixBtn, searchTextBtn);
+        
+        vbox.getChildren().addAll(searchLabel, searchField, suggestionList, searchButtons);
         
         return vbox;
     }
@@ -250,8 +420,16 @@ public class PhonebookUI extends Application {
         refreshButton.setPrefWidth(Double.MAX_VALUE);
         refreshButton.setOnAction(e -> refreshTable());
         
+        Button importButton = new Button("📥 Import CSV / vCard");
+        importButton.setPrefWidth(Double.MAX_VALUE);
+        importButton.setOnAction(e -> handleImport());
+        
+        Button exportButton = new Button("📤 Export CSV / vCard / JSON");
+        exportButton.setPrefWidth(Double.MAX_VALUE);
+        exportButton.setOnAction(e -> handleExport());
+        
         vbox.getChildren().addAll(actionLabel, updateButton, deleteButton, 
-                                   sortButton, refreshButton);
+                                   sortButton, refreshButton, importButton, exportButton);
         
         return vbox;
     }
@@ -280,7 +458,7 @@ public class PhonebookUI extends Application {
         Button showAllBtn = new Button("Show All");
         showAllBtn.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white;");
         showAllBtn.setPrefWidth(Double.MAX_VALUE);
-        showAllBtn.setOnAction(e -> refreshTable());
+        showAllBtn.setOnAction(e -> showFirstPage(null));
         
         vbox.getChildren().addAll(filterLabel, familyBtn, friendsBtn, workBtn, showAllBtn);
         
@@ -295,13 +473,16 @@ public class PhonebookUI extends Application {
         hbox.setPadding(new Insets(15, 0, 0, 0));
         hbox.setAlignment(Pos.CENTER);
         
-        Label statsLabel = new Label("Total Contacts: " + phonebook.getTotalContacts());
+        statsLabel = new Label("Total Contacts: " + phonebook.getTotalContacts());
         statsLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: gray;");
         
-        Label dsamsg = new Label("✅ Using DSA: LinkedList, HashMap, HashSet, Linear Search, Bubble Sort");
+        Label dsamsg = new Label("✅ Using DSA: HashMap, Tries, N-gram & Phonetic Indexes, Sorted Index, Merge Sort");
         dsamsg.setStyle("-fx-font-size: 12px; -fx-text-fill: green;");
         
-        hbox.getChildren().addAll(statsLabel, new Separator(), dsamsg);
+        latencyLabel = new Label();
+        latencyLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: gray;");
+        
+        hbox.getChildren().addAll(statsLabel, new Separator(), dsamsg, new Separator(), latencyLabel);
         
         return hbox;
     }
@@ -328,7 +509,6 @@ public class PhonebookUI extends Application {
         if (success) {
             showAlert("Success", "Contact added successfully!", Alert.AlertType.INFORMATION);
             clearForm();
-            refreshTable();
         } else {
             showAlert("Error", "Failed to add contact! Phone number may already exist.", Alert.AlertType.ERROR);
         }
@@ -343,15 +523,119 @@ public class PhonebookUI extends Application {
             return;
         }
         
-        Contact result = isPhone ? phonebook.searchByPhone(searchTerm) : phonebook.searchByName(searchTerm);
+        if (!isPhone) {
+            tableQueries.run("Name search", () -> phonebook.searchAllByName(searchTerm), results -> {
+                if (results.isEmpty()) {
+                    // No exact match - fall back to typo-tolerant, sounds-like and full-text search
+                    tableQueries.run("Similar names", () -> similarNames(searchTerm), this::showSimilarNames);
+                } else {
+                    showResults(results);
+                    if (results.size() > 1) {
+                        showAlert("Search Result", results.size() + " contacts found with this name!", Alert.AlertType.INFORMATION);
+                    } else {
+                        showAlert("Search Result", "Contact found!\n\n" + results.get(0).toString(), Alert.AlertType.INFORMATION);
+                    }
+                }
+            });
+            return;
+        }
         
-        if (result != null) {
-            contactData.clear();
-            contactData.add(result);
-            showAlert("Search Result", "Contact found!\n\n" + result.toString(), Alert.AlertType.INFORMATION);
-        } else {
+        tableQueries.run("Phone search", () -> phonebook.searchByPhone(searchTerm), result -> {
+            if (result != null) {
+                showResults(Collections.singletonList(result));
+                showAlert("Search Result", "Contact found!\n\n" + result.toString(), Alert.AlertType.INFORMATION);
+            } else {
+                showAlert("Search Result", "Contact not found!", Alert.AlertType.WARNING);
+            }
+        });
+    }
+    
+    // Runs on a worker thread
+    private List<Contact> similarNames(String searchTerm) {
+        Set<Contact> similarSet = new LinkedHashSet<>(phonebook.fuzzySearchByName(searchTerm, 20));
+        similarSet.addAll(phonebook.searchSoundsLike(searchTerm, 20));
+        similarSet.addAll(phonebook.fullTextSearch(searchTerm, 20));
+        return new ArrayList<>(similarSet);
+    }
+    
+    private void showSimilarNames(List<Contact> similar) {
+        if (similar.isEmpty()) {
             showAlert("Search Result", "Contact not found!", Alert.AlertType.WARNING);
+        } else {
+            showResults(similar);
+            showAlert("Search Result", "No exact match. Showing " + similar.size() + " similar name(s).", Alert.AlertType.INFORMATION);
+        }
+    }
+    
+    /**
+     * Handle reverse partial-number search (last digits)
+     */
+    private void handleSuffixSearch(String lastDigits) {
+        if (lastDigits.trim().isEmpty()) {
+            showAlert("Error", "Please enter the last digits of a phone number!", Alert.AlertType.ERROR);
+            return;
+        }
+        
+        String digits = lastDigits.trim();
+        tableQueries.run("Ends-with search", () -> phonebook.searchByPhoneSuffix(digits), results -> {
+            if (results.isEmpty()) {
+                showAlert("Search Result", "No phone number ends with " + digits + "!", Alert.AlertType.WARNING);
+            } else {
+                showResults(results);
+            }
+        });
+    }
+    
+    /**
+     * Handle ranked full-text search across name and email
+     */
+    private void handleFullTextSearch(String query) {
+        if (query.trim().isEmpty()) {
+            showAlert("Error", "Please enter a search term!", Alert.AlertType.ERROR);
+            return;
+        }
+        
+        tableQueries.run("Full-text search", () -> phonebook.fullTextSearch(query, 100), results -> {
+            if (results.isEmpty()) {
+                showAlert("Search Result", "Nothing matches " + query.trim() + "!", Alert.AlertType.WARNING);
+            } else {
+                showResults(results);
+            }
+        });
+    }
+    
+    /**
+     * Refresh the typeahead suggestions for the current search text
+     * Debounced: the lookup starts once typing pauses, and each keystroke supersedes the last lookup
+     */
+    private void updateSuggestions(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            suggestQueries.cancel();
+            suggestionList.getItems().clear();
+            setSuggestionsVisible(false);
+            return;
+        }
+        
+        suggestQueries.runAfter(SUGGEST_DEBOUNCE, "Suggestions", () -> phonebook.suggest(text, MAX_SUGGESTIONS), suggestions -> {
+            suggestionList.getItems().setAll(suggestions);
+            setSuggestionsVisible(!suggestions.isEmpty());
+        });
+    }
+    
+    /**
+     * Show a picked suggestion in the table
+     */
+    private void showSuggestion(Contact contact) {
+        if (contact == null) {
+            return;
         }
+        showResults(Collections.singletonList(contact));
+        contactTable.getSelectionModel().select(contact);
+    }
+    
+    private void setSuggestionsVisible(boolean visible) {
+        suggestionList.setVisible(visible);
+        suggestionList.setManaged(visible);
     }
     
     /**
@@ -397,7 +681,6 @@ public class PhonebookUI extends Application {
                 
                 if (success) {
                     showAlert("Success", "Contact updated successfully!", Alert.AlertType.INFORMATION);
-                    refreshTable();
                 }
             }
         });
@@ -425,7 +708,6 @@ public class PhonebookUI extends Application {
                 
                 if (success) {
                     showAlert("Success", "Contact deleted successfully!", Alert.AlertType.INFORMATION);
-                    refreshTable();
                 }
             }
         });
@@ -441,39 +723,315 @@ public class PhonebookUI extends Application {
         sortDialog.setHeaderText("Choose Sorting Algorithm");
         sortDialog.setContentText("Select the algorithm to use:");
         
+        ButtonType sortedIndex = new ButtonType("Sorted Index");
         ButtonType bubbleSort = new ButtonType("Bubble Sort");
         ButtonType selectionSort = new ButtonType("Selection Sort");
+        ButtonType parallelSort = new ButtonType("Parallel Merge Sort");
         ButtonType cancel = new ButtonType("Cancel", ButtonBar.ButtonData.CANCEL_CLOSE);
         
-        sortDialog.getButtonTypes().setAll(bubbleSort, selectionSort, cancel);
+        sortDialog.getButtonTypes().setAll(sortedIndex, bubbleSort, selectionSort, parallelSort, cancel);
         
         sortDialog.showAndWait().ifPresent(response -> {
-            if (response == bubbleSort) {
+            if (response == sortedIndex) {
+                phonebook.sortContactsUsingIndex();
+                showAlert("Success", "Contacts sorted using the Sorted Index!", Alert.AlertType.INFORMATION);
+                showFirstPage(pageCategory);
+            } else if (response == bubbleSort) {
                 phonebook.sortContactsBubbleSort();
                 showAlert("Success", "Contacts sorted using Bubble Sort!", Alert.AlertType.INFORMATION);
-                refreshTable();
+                showFirstPage(pageCategory);
             } else if (response == selectionSort) {
                 phonebook.sortContactsSelectionSort();
                 showAlert("Success", "Contacts sorted using Selection Sort!", Alert.AlertType.INFORMATION);
-                refreshTable();
+                showFirstPage(pageCategory);
+            } else if (response == parallelSort) {
+                ChoiceDialog<ContactOrder> orderDialog = new ChoiceDialog<>(ContactOrder.NAME, ContactOrder.values());
+                orderDialog.setTitle("Parallel Merge Sort");
+                orderDialog.setHeaderText("Choose Ordering");
+                orderDialog.setContentText("Sort by:");
+                
+                orderDialog.showAndWait().ifPresent(order -> {
+                    long elapsedMs = phonebook.sortContactsParallel(order);
+                    showAlert("Success", "Contacts sorted by " + order + " using Parallel Merge Sort in "
+                              + elapsedMs + " ms!", Alert.AlertType.INFORMATION);
+                    showFirstPage(pageCategory);
+                });
+            }
+        });
+    }
+    
+    /**
+     * Handle bulk import - runs in the background while the window is locked
+     */
+    private void handleImport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Contacts");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Contacts (CSV, vCard)", "*.csv", "*.vcf", "*.vcard", "*.csv.gz", "*.vcf.gz"),
+                new FileChooser.ExtensionFilter("All Files", "*.*"));
+        File file = chooser.showOpenDialog(stage);
+        
+        if (file == null) {
+            return;
+        }
+        
+        Task<ImportReport> importTask = new Task<ImportReport>() {
+            @Override
+            protected ImportReport call() throws Exception {
+                return new ContactImporter(phonebook).importFile(file.toPath());
             }
+        };
+        
+        // The phonebook is not shared with the UI while the import writes to it
+        mainLayout.setDisable(true);
+        importTask.setOnSucceeded(e -> {
+            mainLayout.setDisable(false);
+            showAlert("Import Complete", importTask.getValue().toString(), Alert.AlertType.INFORMATION);
+        });
+        importTask.setOnFailed(e -> {
+            mainLayout.setDisable(false);
+            showAlert("Import Failed", importTask.getException().getMessage(), Alert.AlertType.ERROR);
         });
+        
+        Thread importThread = new Thread(importTask, "phonebook-import");
+        importThread.setDaemon(true);
+        importThread.start();
+    }
+    
+    /**
+     * Handle export - streams from the database in the background
+     */
+    private void handleExport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Contacts");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV", "*.csv"),
+                new FileChooser.ExtensionFilter("vCard", "*.vcf"),
+                new FileChooser.ExtensionFilter("JSON", "*.json"),
+                new FileChooser.ExtensionFilter("Compressed (gzip)", "*.csv.gz", "*.vcf.gz", "*.json.gz"));
+        chooser.setInitialFileName("contacts.csv");
+        File file = chooser.showSaveDialog(stage);
+        
+        if (file == null) {
+            return;
+        }
+        
+        Task<Long> exportTask = new Task<Long>() {
+            @Override
+            protected Long call() throws Exception {
+                return new ContactExporter(phonebook).exportFile(file.toPath(), ContactFilter.ALL);
+            }
+        };
+        
+        // Keep the shared database connection to the export while it runs
+        mainLayout.setDisable(true);
+        exportTask.setOnSucceeded(e -> {
+            mainLayout.setDisable(false);
+            showAlert("Export Complete", exportTask.getValue() + " contacts exported to " + file.getName(),
+                      Alert.AlertType.INFORMATION);
+        });
+        exportTask.setOnFailed(e -> {
+            mainLayout.setDisable(false);
+            showAlert("Export Failed", exportTask.getException().getMessage(), Alert.AlertType.ERROR);
+        });
+        
+        Thread exportThread = new Thread(exportTask, "phonebook-export");
+        exportThread.setDaemon(true);
+        exportThread.start();
     }
     
     /**
      * Filter by category
      */
     private void filterByCategory(String category) {
-        contactData.clear();
-        contactData.addAll(phonebook.getContactsByCategory(category));
+        showFirstPage(category);
     }
     
     /**
-     * Refresh table with all contacts
+     * Reload the current page (back to the first page if the list order changed)
      */
     private void refreshTable() {
-        contactData.clear();
-        contactData.addAll(phonebook.getAllContacts());
+        if (pageStart != null && pageStart.getOrder() != phonebook.getListOrder()) {
+            pageStart = null;
+            previousPageStarts.clear();
+        }
+        loadPage();
+    }
+    
+    /**
+     * Start paging from the top, optionally within one category
+     * (also after a sort: the old page cursors point into the previous order)
+     */
+    private void showFirstPage(String category) {
+        pageCategory = category;
+        pageStart = null;
+        previousPageStarts.clear();
+        loadPage();
+    }
+    
+    private void showNextPage() {
+        if (nextPageStart == null) {
+            return;
+        }
+        previousPageStarts.add(pageStart);
+        pageStart = nextPageStart;
+        loadPage();
+    }
+    
+    private void showPreviousPage() {
+        if (previousPageStarts.isEmpty()) {
+            return;
+        }
+        pageStart = previousPageStarts.remove(previousPageStarts.size() - 1);
+        loadPage();
+    }
+    
+    /**
+     * Load the page that starts after pageStart in the background - cost depends on PAGE_SIZE only
+     */
+    private void loadPage() {
+        loadPage(0);
+    }
+    
+    private void loadPage(int reloads) {
+        PageKey start = pageStart;
+        String category = pageCategory;
+        List<ContactChange> changesMeanwhile = new ArrayList<>();
+        changesDuringLoad = changesMeanwhile;
+        tableQueries.run(category == null ? "Page" : category + " page",
+                () -> phonebook.page(start, PAGE_SIZE, category), page -> showPage(page, changesMeanwhile, reloads));
+    }
+    
+    private void showPage(ContactPage page, List<ContactChange> changesMeanwhile, int reloads) {
+        changesDuringLoad = null;
+        contactData.setAll(page.getContacts());
+        showingPage = true;
+        nextPageStart = page.getNextKey();
+        
+        // Changes applied to the old rows while this page was read - the page may predate them, so
+        // replay them (every edit is a no-op if the page already has it); reload only if one cannot be
+        for (ContactChange change : changesMeanwhile) {
+            if (!applyChange(change)) {
+                if (reloads < MAX_PAGE_RELOADS) {
+                    loadPage(reloads + 1);
+                    return;
+                }
+                break;   // keep this page - the next change or Refresh brings it up to date
+            }
+        }
+        
+        // Everything on this page was deleted - step back
+        if (contactData.isEmpty() && !previousPageStarts.isEmpty()) {
+            showPreviousPage();
+            return;
+        }
+        
+        prevPageBtn.setDisable(previousPageStarts.isEmpty());
+        nextPageBtn.setDisable(nextPageStart == null);
+        pageLabel.setText("Page " + (previousPageStarts.size() + 1)
+                          + (pageCategory == null ? "" : " - " + pageCategory));
+    }
+    
+    /**
+     * Latency indicator: how long the last query took, highlighted when it was slow
+     */
+    private void showLatency(String description, long elapsedMs) {
+        boolean slow = elapsedMs >= SLOW_QUERY_MS;
+        latencyLabel.setText((slow ? "🐢 " : "⏱️ ") + description + ": " + elapsedMs + " ms");
+        latencyLabel.setStyle(slow ? "-fx-font-size: 12px; -fx-text-fill: #e65100; -fx-font-weight: bold;"
+                                   : "-fx-font-size: 12px; -fx-text-fill: gray;");
+    }
+    
+    /**
+     * Show search results in the table instead of a page
+     */
+    private void showResults(List<Contact> results) {
+        contactData.setAll(results);
+        showingPage = false;
+        changesDuringLoad = null;
+    }
+    
+    /**
+     * Change feed listener - called on whichever thread changed the phonebook
+     * Changes are queued and one FX task is scheduled per burst, so any number of changes
+     * arriving before the next pulse is applied in a single pass
+     */
+    private void onContactsChanged(List<ContactChange> changes) {
+        pendingChanges.addAll(changes);
+        if (changesScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::applyChanges);
+        }
+    }
+    
+    /**
+     * Apply queued changes as minimal edits of the shown rows - O(changes x page size), never O(contacts)
+     * A RESET, or an addition whose position only the database's ordering can tell, reloads the page instead
+     */
+    private void applyChanges() {
+        changesScheduled.set(false);
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+        for (ContactChange change = pendingChanges.poll(); change != null; change = pendingChanges.poll()) {
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(change);
+            }
+            if (!applyChange(change)) {
+                pendingChanges.clear();   // the reloaded page already reflects them
+                refreshTable();
+                break;
+            }
+        }
+        
+        // Everything on this page was deleted - step back
+        if (showingPage && contactData.isEmpty() && !previousPageStarts.isEmpty()) {
+            showPreviousPage();
+        }
+        statsLabel.setText("Total Contacts: " + phonebook.getTotalContacts());
+    }
+    
+    // Returns false when the shown page has to be reloaded
+    private boolean applyChange(ContactChange change) {
+        switch (change.getType()) {
+            case ADDED:
+                return !showingPage || addToPage(change.getNewContact());
+                
+            case REMOVED:
+                contactData.remove(change.getOldContact());
+                return true;
+                
+            case UPDATED:
+                int row = contactData.indexOf(change.getOldContact());
+                if (row >= 0) {
+                    contactData.set(row, change.getNewContact());
+                }
+                return true;
+                
+            default:
+                // Search results keep their rows through a sort or bulk add
+                return !showingPage;
+        }
+    }
+    
+    /**
+     * Place a new contact on the shown page if it belongs there
+     * In insertion order it comes after every other contact, so it belongs on the last page only
+     */
+    private boolean addToPage(Contact contact) {
+        if (pageCategory != null && !pageCategory.equals(contact.getCategory())) {
+            return true;
+        }
+        if (phonebook.getListOrder() != ResultOrder.INSERTION) {
+            return false;
+        }
+        if (nextPageStart != null || contactData.contains(contact)) {
+            return true;
+        }
+        if (contactData.size() >= PAGE_SIZE) {
+            return false;   // the last page is full - a next page now exists
+        }
+        contactData.add(contact);
+        return true;
     }
     
     /**
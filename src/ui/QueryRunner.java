@@ -0,0 +1,128 @@
+package ui;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * QueryRunner runs phonebook queries off the JavaFX application thread
+ * Queries run on virtual threads; results come back on the FX thread through Platform.runLater.
+ *
+ * Queries are grouped in channels (e.g. the table, the typeahead list). Each channel shows one
+ * query at a time: starting a query supersedes the channel's previous one - a debounced query that
+ * has not started yet never starts, and the result of one already running is dropped.
+ * All channel methods are called on the FX thread.
+ */
+final class QueryRunner {
+    
+    /**
+     * Notified on the FX thread as queries start, finish or are superseded - used for the latency indicator
+     */
+    interface QueryListener {
+        void queryStarted(String description);
+        
+        void queryFinished(String description, long elapsedMs);
+        
+        void queryCancelled(String description);
+        
+        void queryFailed(String description, Throwable error);
+    }
+    
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final QueryListener listener;
+    
+    QueryRunner(QueryListener listener) {
+        this.listener = listener;
+    }
+    
+    Channel channel() {
+        return new Channel();
+    }
+    
+    void shutdown() {
+        workers.shutdownNow();
+    }
+    
+    final class Channel {
+        private final PauseTransition debounce = new PauseTransition();
+        private long generation;          // bumped whenever the current query is superseded
+        private Future<?> running;
+        private String runningDescription;
+        
+        /**
+         * Start a query now, superseding the previous one
+         */
+        <T> void run(String description, Callable<T> query, Consumer<T> onResult) {
+            runAfter(Duration.ZERO, description, query, onResult);
+        }
+        
+        /**
+         * Start a query once the delay passes without another query on this channel (debounce),
+         * e.g. after the user stops typing
+         */
+        <T> void runAfter(Duration delay, String description, Callable<T> query, Consumer<T> onResult) {
+            cancel();
+            long ticket = generation;
+            if (delay.lessThanOrEqualTo(Duration.ZERO)) {
+                start(ticket, description, query, onResult);
+            } else {
+                debounce.setDuration(delay);
+                debounce.setOnFinished(e -> start(ticket, description, query, onResult));
+                debounce.playFromStart();
+            }
+        }
+        
+        /**
+         * Drop the current query. Phonebook queries do not respond to interrupts (SQLite calls,
+         * lock waits) and are short, so one already running finishes and its result is discarded
+         */
+        void cancel() {
+            generation++;
+            debounce.stop();
+            if (running != null) {
+                running.cancel(false);
+                running = null;
+                listener.queryCancelled(runningDescription);
+            }
+        }
+        
+        private <T> void start(long ticket, String description, Callable<T> query, Consumer<T> onResult) {
+            long startNanos = System.nanoTime();
+            listener.queryStarted(description);
+            runningDescription = description;
+            running = workers.submit(() -> {
+                try {
+                    T result = query.call();
+                    Platform.runLater(() -> {
+                        if (isCurrent(ticket)) {
+                            listener.queryFinished(description, (System.nanoTime() - startNanos) / 1_000_000);
+                            onResult.accept(result);
+                        }
+                    });
+                } catch (Throwable e) {
+                    // Errors too - the executor would keep them in the discarded Future, unreported
+                    Platform.runLater(() -> {
+                        if (isCurrent(ticket)) {
+                            listener.queryFailed(description, e);
+                        }
+                    });
+                }
+                return null;
+            });
+        }
+        
+        // FX thread: a result is only delivered if nothing superseded its query
+        private boolean isCurrent(long ticket) {
+            if (ticket != generation) {
+                return false;
+            }
+            running = null;
+            return true;
+        }
+    }
+}